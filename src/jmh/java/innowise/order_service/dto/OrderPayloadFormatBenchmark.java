@@ -0,0 +1,100 @@
+package innowise.order_service.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import innowise.order_service.dto.client.UserDto;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares JSON with the binary formats offered by the order endpoints on a list of orders, as
+ * returned by {@code POST /orders/list}. Serialization and deserialization time are measured by
+ * the benchmarks; the payload size of each format and list size is reported next to them as the
+ * secondary result {@code payloadBytes}, so it lands in the results file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderPayloadFormatBenchmark {
+
+    private static final TypeReference<List<OrderResponseDto>> ORDER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "10000"})
+    private int orders;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<OrderResponseDto> orderResponseDtos;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        orderResponseDtos = LongStream.rangeClosed(1, orders)
+                .mapToObj(OrderPayloadFormatBenchmark::order)
+                .toList();
+        payload = objectMapper.writeValueAsBytes(orderResponseDtos);
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payloadSize) throws IOException {
+        byte[] serialized = objectMapper.writeValueAsBytes(orderResponseDtos);
+        payloadSize.payloadBytes = serialized.length;
+        return serialized;
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> deserialize(PayloadSize payloadSize) throws IOException {
+        payloadSize.payloadBytes = payload.length;
+        return objectMapper.readValue(payload, ORDER_LIST);
+    }
+
+    /**
+     * The counter is assigned rather than incremented, so each iteration reports the size of one
+     * payload instead of the bytes of all its invocations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+    }
+
+    private static OrderResponseDto order(long id) {
+        return OrderResponseDto.builder()
+                .id(id)
+                .userId(id % 1_000)
+                .status(Status.SUCCESS)
+                .orderItems(LongStream.rangeClosed(1, 3)
+                        .mapToObj(itemId -> new OrderItemResponseDto(itemId, 2, 19.99))
+                        .toList())
+                .totalAmount(119.94)
+                .lineCount(3)
+                .user(new UserDto(id % 1_000, "John", "Doe", "john.doe@example.com", LocalDate.of(1990, 1, 1)))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package innowise.order_service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.dto.client.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serializes {@link OrderResponseDto} with an object mapper configured like the one of the
+ * application's message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderResponseSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int lines;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private OrderResponseDto orderResponseDto;
+
+    @Setup
+    public void setUp() {
+        orderResponseDto = OrderResponseDto.builder()
+                .id(1L)
+                .userId(1L)
+                .status(Status.SUCCESS)
+                .orderItems(LongStream.range(0, lines)
+                        .mapToObj(id -> new OrderItemResponseDto(id, 1, 10.0))
+                        .toList())
+                .totalAmount(10.0 * lines)
+                .lineCount(lines)
+                .user(new UserDto(1L, "John", "Doe", "john.doe@example.com", LocalDate.of(1990, 1, 1)))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderResponseDto);
+    }
+}
@@ -0,0 +1,71 @@
+package innowise.order_service.exception;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error paths from the exception to the response entity, including the cost of creating the
+ * exception. Logging is switched off in the benchmark logback configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private ValidatorFactory validatorFactory;
+    private SpringValidatorAdapter validator;
+    private MethodParameter parameter;
+    private OrderRequestDto invalidOrder;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = new SpringValidatorAdapter(validatorFactory.getValidator());
+        parameter = new MethodParameter(GlobalExceptionHandlerBenchmark.class
+                .getDeclaredMethod("handle", OrderRequestDto.class), 0);
+        invalidOrder = new OrderRequestDto(-1L, List.of(new OrderItemRequestDto(null, 0)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<String> entityNotFound() {
+        return handler.handleEntityNotFoundException(
+                new EntityNotFoundException(String.format("There is no order with id %d", 42L)));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> validationFailed() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidOrder, "orderRequestDto");
+        validator.validate(invalidOrder, bindingResult);
+        return handler.handleValidationExceptions(new MethodArgumentNotValidException(parameter, bindingResult));
+    }
+
+    @SuppressWarnings("unused")
+    private void handle(OrderRequestDto orderRequestDto) {
+    }
+}
@@ -0,0 +1,67 @@
+package innowise.order_service.mapper;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.OrderResponseDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int lines;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private Order order;
+    private OrderRequestDto orderRequestDto;
+
+    @Setup
+    public void setUp() {
+        order = Order.builder()
+                .id(1L)
+                .userId(1L)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build();
+        IntStream.range(0, lines).forEach(line -> order.getOrderItems().add(OrderItem.builder()
+                .id((long) line)
+                .order(order)
+                .item(Item.builder().id((long) line).name("Item " + line).price(10.0).build())
+                .quantity(1)
+                .unitPrice(10.0)
+                .build()));
+
+        List<OrderItemRequestDto> orderItems = IntStream.range(0, lines)
+                .mapToObj(line -> new OrderItemRequestDto((long) line, 1))
+                .toList();
+        orderRequestDto = new OrderRequestDto(1L, orderItems);
+    }
+
+    @Benchmark
+    public OrderResponseDto toDto() {
+        return orderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public Order toEntity() {
+        return orderMapper.toEntity(orderRequestDto);
+    }
+}
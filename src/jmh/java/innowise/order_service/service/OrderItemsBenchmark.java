@@ -0,0 +1,67 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Measures {@link OrderItemFactory#createOrderItems} with an {@link ItemService} that answers from
+ * memory, so only the resolution and line building are timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderItemsBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int lines;
+
+    private OrderItemFactory orderItemFactory;
+    private Order order;
+    private List<OrderItemRequestDto> orderItems;
+
+    @Setup
+    public void setUp() {
+        Map<Long, Item> items = LongStream.range(0, lines)
+                .mapToObj(id -> Item.builder().id(id).name("Item " + id).price(10.0).build())
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        ItemService itemService = new ItemService(null, null, null) {
+            @Override
+            public Map<Long, Item> getItemsByIds(Collection<Long> ids) {
+                return items;
+            }
+        };
+        orderItemFactory = new OrderItemFactory(itemService);
+        order = Order.builder()
+                .id(1L)
+                .userId(1L)
+                .orderItems(new ArrayList<>())
+                .build();
+        orderItems = LongStream.range(0, lines)
+                .mapToObj(id -> new OrderItemRequestDto(id, 1))
+                .toList();
+    }
+
+    @Benchmark
+    public List<OrderItem> createOrderItems() {
+        return orderItemFactory.createOrderItems(order, orderItems);
+    }
+}
@@ -0,0 +1,19 @@
+package innowise.order_service.acceptance;
+
+import innowise.order_service.service.OrderAcceptanceService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderAcceptanceProperties.class)
+public class OrderAcceptanceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order-acceptance.mode", havingValue = "async")
+    public OrderAcceptanceWorkers orderAcceptanceWorkers(OrderAcceptanceService orderAcceptanceService,
+                                                         OrderAcceptanceProperties properties) {
+        return new OrderAcceptanceWorkers(orderAcceptanceService, properties);
+    }
+}
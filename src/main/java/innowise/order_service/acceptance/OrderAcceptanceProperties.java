@@ -0,0 +1,35 @@
+package innowise.order_service.acceptance;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order-acceptance")
+public class OrderAcceptanceProperties {
+
+    /**
+     * {@code SYNC} creates orders within the request. {@code ASYNC} stores them as pending and
+     * answers 202, leaving item resolution to the background workers.
+     */
+    private Mode mode = Mode.SYNC;
+
+    private int workers = 2;
+
+    private int batchSize = 50;
+
+    /**
+     * How long an idle worker waits before it looks for pending orders again.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    public boolean isAsync() {
+        return mode == Mode.ASYNC;
+    }
+
+    public enum Mode {
+        SYNC,
+        ASYNC
+    }
+}
@@ -0,0 +1,79 @@
+package innowise.order_service.acceptance;
+
+import innowise.order_service.service.OrderAcceptanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background workers that settle pending orders. Each worker claims a batch, processes it in one
+ * transaction and immediately claims the next one while full batches keep coming.
+ */
+@Slf4j
+public class OrderAcceptanceWorkers implements SmartLifecycle {
+
+    private final OrderAcceptanceService orderAcceptanceService;
+    private final OrderAcceptanceProperties properties;
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+
+    public OrderAcceptanceWorkers(OrderAcceptanceService orderAcceptanceService,
+                                  OrderAcceptanceProperties properties) {
+        this.orderAcceptanceService = orderAcceptanceService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(properties.getWorkers(),
+                new CustomizableThreadFactory("order-acceptance-"));
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            executor.submit(this::work);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Order acceptance workers did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                int processed = orderAcceptanceService.processPendingOrders(properties.getBatchSize());
+                if (processed < properties.getBatchSize()) {
+                    Thread.sleep(properties.getPollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to process pending orders", e);
+                try {
+                    Thread.sleep(properties.getPollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package innowise.order_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import innowise.order_service.entity.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier store for catalog items: a bounded in-process near tier in front of a shared Redis tier.
+ * Redis failures are treated as misses so that the cache never breaks order processing.
+ */
+@Slf4j
+@Component
+public class ItemCache {
+
+    private final ItemCacheProperties properties;
+    private final RedisTemplate<String, Item> itemRedisTemplate;
+    private final Cache<Long, Item> nearCache;
+
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder sharedMisses = new LongAdder();
+    private final LongAdder sharedErrors = new LongAdder();
+
+    public ItemCache(ItemCacheProperties properties, RedisTemplate<String, Item> itemRedisTemplate) {
+        this.properties = properties;
+        this.itemRedisTemplate = itemRedisTemplate;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNear().getMaxSize())
+                .expireAfterWrite(properties.getNear().getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Item> get(Long id) {
+        if (!properties.isEnabled() || id == null) {
+            return Optional.empty();
+        }
+        Item item = nearCache.getIfPresent(id);
+        if (item == null && isSharedEnabled()) {
+            item = getShared(id);
+            if (item != null) {
+                nearCache.put(id, item);
+            }
+        }
+        return Optional.ofNullable(item).map(ItemCache::copyOf);
+    }
+
+    public Map<Long, Item> getAll(Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Item> items = new HashMap<>(nearCache.getAllPresent(ids));
+        List<Long> nearMisses = ids.stream()
+                .filter(id -> !items.containsKey(id))
+                .toList();
+        if (!nearMisses.isEmpty() && isSharedEnabled()) {
+            Map<Long, Item> sharedItems = getAllShared(nearMisses);
+            nearCache.putAll(sharedItems);
+            items.putAll(sharedItems);
+        }
+        items.replaceAll((id, item) -> copyOf(item));
+        return items;
+    }
+
+    public void put(Item item) {
+        putAll(List.of(item));
+    }
+
+    public void putAll(Collection<Item> items) {
+        if (!properties.isEnabled() || items.isEmpty()) {
+            return;
+        }
+        List<Item> copies = items.stream()
+                .map(ItemCache::copyOf)
+                .toList();
+        copies.forEach(item -> nearCache.put(item.getId(), item));
+        if (isSharedEnabled()) {
+            putAllShared(copies);
+        }
+    }
+
+    /**
+     * Drops the item from both tiers and tells the other instances to drop it from their near tier.
+     * Inside a transaction the eviction is repeated after commit, so that a concurrent reader
+     * cannot re-populate the cache with the pre-commit value.
+     */
+    public void invalidate(Long id) {
+        if (!properties.isEnabled() || id == null) {
+            return;
+        }
+        evictEverywhere(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(id);
+                }
+            });
+        }
+    }
+
+    public void evictLocal(Long id) {
+        nearCache.invalidate(id);
+    }
+
+    public ItemCacheStats stats() {
+        CacheStats nearStats = nearCache.stats();
+        return new ItemCacheStats(
+                nearStats.hitCount(),
+                nearStats.missCount(),
+                nearStats.evictionCount(),
+                sharedHits.sum(),
+                sharedMisses.sum(),
+                sharedErrors.sum());
+    }
+
+    private boolean isSharedEnabled() {
+        return properties.getRedis().isEnabled();
+    }
+
+    private void evictEverywhere(Long id) {
+        nearCache.invalidate(id);
+        if (!isSharedEnabled()) {
+            return;
+        }
+        try {
+            itemRedisTemplate.delete(key(id));
+            itemRedisTemplate.convertAndSend(properties.getRedis().getInvalidationChannel(), id.toString());
+        } catch (Exception e) {
+            sharedErrors.increment();
+            log.warn("Failed to invalidate item {} in Redis", id, e);
+        }
+    }
+
+    private Item getShared(Long id) {
+        try {
+            Item item = itemRedisTemplate.opsForValue().get(key(id));
+            (item == null ? sharedMisses : sharedHits).increment();
+            return item;
+        } catch (Exception e) {
+            sharedErrors.increment();
+            log.warn("Failed to read item {} from Redis", id, e);
+            return null;
+        }
+    }
+
+    private Map<Long, Item> getAllShared(List<Long> ids) {
+        try {
+            List<Item> values = itemRedisTemplate.opsForValue().multiGet(ids.stream().map(this::key).toList());
+            Map<Long, Item> items = new HashMap<>();
+            if (values != null) {
+                values.stream()
+                        .filter(Objects::nonNull)
+                        .forEach(item -> items.put(item.getId(), item));
+            }
+            sharedHits.add(items.size());
+            sharedMisses.add(ids.size() - items.size());
+            return items;
+        } catch (Exception e) {
+            sharedErrors.increment();
+            log.warn("Failed to read {} items from Redis", ids.size(), e);
+            return Map.of();
+        }
+    }
+
+    private void putAllShared(List<Item> items) {
+        try {
+            itemRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Item> itemOperations = (RedisOperations<String, Item>) operations;
+                    items.forEach(item -> itemOperations.opsForValue()
+                            .set(key(item.getId()), item, properties.getRedis().getTtl()));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            sharedErrors.increment();
+            log.warn("Failed to write {} items to Redis", items.size(), e);
+        }
+    }
+
+    private String key(Long id) {
+        return properties.getRedis().getKeyPrefix() + id;
+    }
+
+    private static Item copyOf(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .price(item.getPrice())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package innowise.order_service.cache;
+
+import innowise.order_service.entity.Item;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@EnableConfigurationProperties(ItemCacheProperties.class)
+public class ItemCacheConfig {
+
+    @Bean
+    public RedisTemplate<String, Item> itemRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Item> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(Item.class));
+        return template;
+    }
+
+    /**
+     * Evicts the near tier of every instance when any of them invalidates an item.
+     */
+    @Bean
+    @ConditionalOnExpression("${item-cache.enabled:true} and ${item-cache.redis.enabled:true}")
+    public RedisMessageListenerContainer itemCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       ItemCache itemCache,
+                                                                       ItemCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> itemCache.evictLocal(
+                        Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(properties.getRedis().getInvalidationChannel()));
+        return container;
+    }
+}
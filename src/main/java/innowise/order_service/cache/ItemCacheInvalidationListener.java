@@ -0,0 +1,20 @@
+package innowise.order_service.cache;
+
+import innowise.order_service.entity.Item;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ItemCacheInvalidationListener {
+
+    private final ItemCache itemCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onItemChanged(Item item) {
+        itemCache.invalidate(item.getId());
+    }
+}
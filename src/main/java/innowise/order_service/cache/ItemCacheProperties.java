@@ -0,0 +1,31 @@
+package innowise.order_service.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "item-cache")
+public class ItemCacheProperties {
+
+    private boolean enabled = true;
+
+    private Near near = new Near();
+
+    private Shared redis = new Shared();
+
+    @Data
+    public static class Near {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Shared {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofMinutes(30);
+        private String keyPrefix = "order-service:item:";
+        private String invalidationChannel = "order-service:item-invalidation";
+    }
+}
@@ -0,0 +1,11 @@
+package innowise.order_service.cache;
+
+public record ItemCacheStats(
+        long nearHits,
+        long nearMisses,
+        long nearEvictions,
+        long sharedHits,
+        long sharedMisses,
+        long sharedErrors
+) {
+}
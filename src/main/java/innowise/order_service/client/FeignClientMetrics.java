@@ -0,0 +1,65 @@
+package innowise.order_service.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Times every call of the Feign clients as {@code feign.client.requests}, tagged with the client,
+ * the client method, the HTTP status and the outcome. Calls that fail or answer with an error
+ * status are also counted as {@code feign.client.errors}.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignClientMetrics implements Capability {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                Response response = client.execute(request, options);
+                record(sample, request, String.valueOf(response.status()),
+                        Outcome.forStatus(response.status()).name(), null);
+                return response;
+            } catch (IOException | RuntimeException e) {
+                record(sample, request, UNKNOWN, UNKNOWN, e);
+                throw e;
+            }
+        };
+    }
+
+    private void record(Timer.Sample sample, Request request, String status, String outcome, Exception exception) {
+        String clientName = request.requestTemplate().feignTarget() != null
+                ? request.requestTemplate().feignTarget().name() : UNKNOWN;
+        String method = request.requestTemplate().methodMetadata() != null
+                ? request.requestTemplate().methodMetadata().configKey() : UNKNOWN;
+        String exceptionName = exception != null ? exception.getClass().getSimpleName() : "none";
+
+        sample.stop(Timer.builder("feign.client.requests")
+                .description("Calls made through Feign clients")
+                .tags("client", clientName, "method", method, "status", status,
+                        "outcome", outcome, "exception", exceptionName)
+                .register(meterRegistry));
+        if (exception != null || !Outcome.SUCCESS.name().equals(outcome)) {
+            Counter.builder("feign.client.errors")
+                    .description("Failed calls and error responses of Feign clients")
+                    .tags("client", clientName, "method", method, "status", status, "exception", exceptionName)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
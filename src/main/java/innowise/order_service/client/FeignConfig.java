@@ -1,8 +1,77 @@
 package innowise.order_service.client;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Semaphore;
 
 @Configuration
+@EnableConfigurationProperties(UserLookupProperties.class)
 public class FeignConfig {
 
+    @Bean("userLookupExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformUserLookupExecutor(UserLookupProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getParallelism());
+        executor.setMaxPoolSize(properties.getParallelism());
+        executor.setThreadNamePrefix("user-lookup-");
+        executor.setTaskDecorator(requestAttributesPropagator());
+        return executor;
+    }
+
+    /**
+     * Starts a virtual thread per lookup. In-flight calls are capped by {@code userLookupPermits},
+     * not by the executor, whose concurrency limit would block the submitting request thread.
+     */
+    @Bean("userLookupExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualUserLookupExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("user-lookup-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(requestAttributesPropagator());
+        return executor;
+    }
+
+    /**
+     * Caps the number of in-flight calls to user-service across all requests. Requests wait for a
+     * permit no longer than their lookup deadline.
+     */
+    @Bean("userLookupPermits")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Semaphore platformUserLookupPermits(UserLookupProperties properties) {
+        return new Semaphore(properties.getParallelism());
+    }
+
+    @Bean("userLookupPermits")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Semaphore virtualUserLookupPermits(UserLookupProperties properties) {
+        return new Semaphore(properties.getVirtualParallelism());
+    }
+
+    /**
+     * Copies the caller's request attributes to the worker thread, so that
+     * {@link FeignUserInterceptor} can still forward the Authorization header.
+     */
+    private static TaskDecorator requestAttributesPropagator() {
+        return task -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            return () -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                try {
+                    task.run();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            };
+        };
+    }
 }
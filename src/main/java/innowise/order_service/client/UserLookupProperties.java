@@ -0,0 +1,36 @@
+package innowise.order_service.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "user-service.lookup")
+public class UserLookupProperties {
+
+    /**
+     * Maximum number of ids sent in one call to the batch endpoint.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum number of concurrent single-user calls when the batch endpoint is unavailable.
+     */
+    private int parallelism = 8;
+
+    /**
+     * Maximum number of concurrent calls to user-service when requests are served on virtual threads.
+     */
+    private int virtualParallelism = 64;
+
+    /**
+     * Time budget for resolving the users of one request. Users not resolved in time are left empty.
+     */
+    private Duration deadline = Duration.ofSeconds(3);
+
+    /**
+     * How long to skip the batch endpoint after user-service reported that it does not have one.
+     */
+    private Duration batchRetryInterval = Duration.ofMinutes(10);
+}
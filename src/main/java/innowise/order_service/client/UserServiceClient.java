@@ -4,10 +4,16 @@ import innowise.order_service.dto.client.UserDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "user-service", url = "${user-service.host}:${user-service.port}")
 public interface UserServiceClient {
 
     @GetMapping("/users/{id}")
     UserDto getUserById(@PathVariable Long id);
+
+    @GetMapping("/users")
+    List<UserDto> getUsersByIds(@RequestParam("ids") List<Long> ids);
 }
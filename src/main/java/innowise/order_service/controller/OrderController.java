@@ -1,28 +1,56 @@
 package innowise.order_service.controller;
 
 
+import innowise.order_service.acceptance.OrderAcceptanceProperties;
+import innowise.order_service.dto.BulkOrderResponseDto;
+import innowise.order_service.dto.OrderHistoryDto;
+import innowise.order_service.dto.OrderItemPatchDto;
 import innowise.order_service.dto.OrderRequestDto;
 import innowise.order_service.dto.OrderResponseDto;
+import innowise.order_service.dto.OrderStatusSummaryDto;
 import innowise.order_service.dto.Status;
 import innowise.order_service.dto.UpdateOrderDto;
+import innowise.order_service.idempotency.IdempotencyService;
+import innowise.order_service.pagination.CursorPage;
+import innowise.order_service.repository.OrderVersion;
+import innowise.order_service.service.OrderBulkService;
 import innowise.order_service.service.OrderService;
+import innowise.order_service.service.OrderSummaryService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 @RestController
@@ -30,27 +58,142 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
 
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Representations of orders in the order the message converters offer them; JSON is the default.
+     */
+    private static final List<MediaType> REPRESENTATIONS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, MediaType.valueOf("application/x-jackson-smile"));
+
     public final OrderService orderService;
+    public final OrderBulkService orderBulkService;
+    public final OrderAcceptanceProperties orderAcceptanceProperties;
+    public final OrderSummaryService orderSummaryService;
+    public final IdempotencyService idempotencyService;
 
+    /**
+     * In asynchronous acceptance mode the order is only stored as pending and 202 is returned;
+     * the outcome is polled with {@code GET /orders/{id}}. Requests carrying the
+     * {@value #IDEMPOTENCY_KEY_HEADER} header create at most one order per key; retries get the
+     * original response.
+     */
     @PostMapping
-    public ResponseEntity<OrderResponseDto> createOrder(@Valid @RequestBody OrderRequestDto orderRequestDto) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orderService.createOrder(orderRequestDto));
+    public ResponseEntity<OrderResponseDto> createOrder(
+            @Valid @RequestBody OrderRequestDto orderRequestDto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return placeOrder(orderRequestDto);
+        }
+        return idempotencyService.execute("orders", idempotencyKey, orderRequestDto, OrderResponseDto.class,
+                () -> placeOrder(orderRequestDto));
     }
 
+    /**
+     * Creates many orders at once. Orders are validated one by one, so invalid orders are reported
+     * in the per-order results instead of failing the whole request.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponseDto> createOrders(@RequestBody List<OrderRequestDto> orderRequestDtos) {
+        return ResponseEntity.ok(orderBulkService.createOrders(orderRequestDtos));
+    }
+
+    /**
+     * Conditional requests are answered from the order's version alone, so an unchanged order is
+     * confirmed with 304 without loading it or calling user-service.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable @NotNull @Positive Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<OrderResponseDto> getOrderById(@PathVariable @NotNull @Positive Long id,
+                                                         WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            List<OrderVersion> versions = orderService.getOrderVersions(List.of(id));
+            if (!versions.isEmpty() && webRequest.checkNotModified(
+                    eTag(versions, webRequest.getHeader(HttpHeaders.ACCEPT)), lastModified(versions))) {
+                return null;
+            }
+        }
+        OrderResponseDto orderResponseDto = orderService.getOrderById(id);
+        List<OrderVersion> versions = List.of(OrderVersion.of(orderResponseDto));
+        return ResponseEntity.ok()
+                .eTag(eTag(versions, webRequest.getHeader(HttpHeaders.ACCEPT)))
+                .lastModified(lastModified(versions))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(orderResponseDto);
     }
 
+    /**
+     * The ETag covers every returned order. Being a POST, the list is only revalidated with
+     * {@code If-None-Match}, which is answered with 304 from the order versions alone.
+     */
     @PostMapping("/list")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByIds(@RequestParam List<Long> orderIds) {
-        return ResponseEntity.ok(orderService.getOrdersByIds(orderIds));
+    public ResponseEntity<List<OrderResponseDto>> getOrdersByIds(
+            @RequestParam List<Long> orderIds,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (ifNoneMatch != null) {
+            String eTag = eTag(orderService.getOrderVersions(orderIds), accept);
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
+        List<OrderResponseDto> orderResponseDtos = orderService.getOrdersByIds(orderIds);
+        return ResponseEntity.ok()
+                .eTag(eTag(orderResponseDtos.stream().map(OrderVersion::of).toList(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(orderResponseDtos);
     }
 
+    /**
+     * Returns one page of orders. When more orders follow, the response carries the
+     * {@value #NEXT_PAGE_TOKEN_HEADER} header, which is passed back as {@code pageToken}.
+     * The optional creation date range ({@code from} inclusive, {@code to} exclusive) limits the
+     * scan to the partitions of that range.
+     */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByStatus(@PathVariable Status status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<List<OrderResponseDto>> getOrdersByStatus(
+            @PathVariable Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OrderResponseDto> page = orderService.getOrdersByStatus(status, from, to, pageToken, size);
+        return withNextPageToken(ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT), page.nextPageToken())
+                .body(page.items());
+    }
+
+    /**
+     * Returns one page of the user's orders, newest first, without their lines. The optional status and
+     * creation date range ({@code from} inclusive, {@code to} exclusive) narrow the history; further pages
+     * are requested with the {@value #NEXT_PAGE_TOKEN_HEADER} header passed back as {@code pageToken}.
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<OrderHistoryDto> getOrderHistory(
+            @PathVariable @NotNull @Positive Long userId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer size) {
+        OrderHistoryDto orderHistoryDto = orderService.getOrderHistory(userId, status, from, to, pageToken, size);
+        return withNextPageToken(ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT), orderHistoryDto.getNextPageToken())
+                .body(orderHistoryDto);
+    }
+
+    /**
+     * Returns the number of orders per status, optionally only of one user and of orders created on one day.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<OrderStatusSummaryDto> getStatusSummary(
+            @RequestParam(required = false) @Positive Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(orderSummaryService.getStatusSummary(userId, day));
     }
 
     @PutMapping("/{id}")
@@ -59,9 +202,88 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderById(updateOrderDto, id));
     }
 
+    /**
+     * Changes the quantity of one line. A quantity of zero removes the line.
+     */
+    @PatchMapping("/{id}/items/{itemId}")
+    public ResponseEntity<OrderResponseDto> updateOrderItem(@PathVariable @NotNull @Positive Long id,
+                                                            @PathVariable @NotNull @Positive Long itemId,
+                                                            @Valid @RequestBody OrderItemPatchDto orderItemPatchDto) {
+        return ResponseEntity.ok(orderService.updateOrderItem(id, itemId, orderItemPatchDto));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteOrderById(@PathVariable @NotNull @Positive Long id) {
         orderService.deleteOrderById(id);
     }
+
+    private ResponseEntity<OrderResponseDto> placeOrder(OrderRequestDto orderRequestDto) {
+        if (orderAcceptanceProperties.isAsync()) {
+            OrderResponseDto orderResponseDto = orderService.acceptOrder(orderRequestDto);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                            .path("/{id}")
+                            .buildAndExpand(orderResponseDto.getId())
+                            .toUri())
+                    .body(orderResponseDto);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(orderService.createOrder(orderRequestDto));
+    }
+
+    /**
+     * The ETag is strong: it covers the order versions and the representation the {@code Accept}
+     * header selects, so the JSON, CBOR and Smile bodies of the same orders carry different tags.
+     */
+    private static String eTag(List<OrderVersion> versions, String accept) {
+        StringBuilder source = new StringBuilder(representation(accept).toString()).append(';');
+        versions.forEach(version -> source.append(version.id()).append(':')
+                .append(version.updatedAt().truncatedTo(ChronoUnit.MICROS)).append(';'));
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Negotiates like the message converters: the first representation compatible with the most
+     * preferred acceptable media type wins.
+     */
+    private static MediaType representation(String accept) {
+        if (accept == null) {
+            return REPRESENTATIONS.get(0);
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return REPRESENTATIONS.get(0);
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        return acceptable.stream()
+                .flatMap(mediaType -> REPRESENTATIONS.stream().filter(mediaType::isCompatibleWith))
+                .findFirst()
+                .orElse(REPRESENTATIONS.get(0));
+    }
+
+    private static long lastModified(List<OrderVersion> versions) {
+        return versions.stream()
+                .map(OrderVersion::updatedAt)
+                .max(Comparator.naturalOrder())
+                .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(opaqueTag(eTag)));
+    }
+
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static ResponseEntity.BodyBuilder withNextPageToken(ResponseEntity.BodyBuilder response,
+                                                                String nextPageToken) {
+        return nextPageToken == null ? response : response.header(NEXT_PAGE_TOKEN_HEADER, nextPageToken);
+    }
 }
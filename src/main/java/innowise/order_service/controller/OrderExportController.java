@@ -0,0 +1,116 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.dto.Status;
+import innowise.order_service.export.ExportProperties;
+import innowise.order_service.service.OrderExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/orders/export")
+public class OrderExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public final OrderExportService orderExportService;
+    public final ExportProperties exportProperties;
+    private final AsyncTaskExecutor exportExecutor;
+
+    public OrderExportController(OrderExportService orderExportService,
+                                 ExportProperties exportProperties,
+                                 @Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor) {
+        this.orderExportService = orderExportService;
+        this.exportProperties = exportProperties;
+        this.exportExecutor = exportExecutor;
+    }
+
+    /**
+     * Streams the matching orders as NDJSON, gzip-compressed when the client accepts it. The body is
+     * written on the export pool with the export timeout, both scoped to this endpoint.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return new WebAsyncTask<>(exportProperties.getTimeout().toMillis(), exportExecutor, () -> {
+            OutputStream outputStream = response.getOutputStream();
+            OutputStream target = gzip
+                    ? new GZIPOutputStream(outputStream, BUFFER_SIZE)
+                    : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            orderExportService.exportOrders(status, from, to, target);
+            if (target instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+            target.flush();
+            return null;
+        });
+    }
+
+    /**
+     * Whether the {@code Accept-Encoding} header allows gzip, honouring quality values: an explicit
+     * {@code gzip;q=0} refuses it, and a wildcard applies only when gzip is not listed.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    quality = parseQuality(parameter.substring(2));
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : wildcardQuality != null ? wildcardQuality : 0;
+        return quality > 0;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
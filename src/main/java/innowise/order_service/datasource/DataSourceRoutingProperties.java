@@ -0,0 +1,38 @@
+package innowise.order_service.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "datasource-routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas that are further behind the primary are not used until they catch up.
+     */
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long orders written by this instance are read from the primary. Should exceed the
+     * replication lag tolerance plus the health check interval.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(15);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
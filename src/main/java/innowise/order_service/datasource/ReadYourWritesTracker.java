@@ -0,0 +1,37 @@
+package innowise.order_service.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Remembers the orders this instance wrote recently, which the replicas may not have replayed yet.
+ * Reads of those orders have to go to the primary.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentlyWrittenOrders;
+
+    public ReadYourWritesTracker(DataSourceRoutingProperties properties) {
+        this.recentlyWrittenOrders = properties.isEnabled()
+                ? Caffeine.newBuilder().expireAfterWrite(properties.getReadYourWritesWindow()).build()
+                : null;
+    }
+
+    public void recordWrite(Long orderId) {
+        if (recentlyWrittenOrders != null && orderId != null) {
+            recentlyWrittenOrders.put(orderId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isRecentlyWritten(Collection<Long> orderIds) {
+        if (recentlyWrittenOrders == null) {
+            return false;
+        }
+        return orderIds.stream().anyMatch(orderId -> orderId != null
+                && recentlyWrittenOrders.getIfPresent(orderId) != null);
+    }
+}
@@ -0,0 +1,138 @@
+package innowise.order_service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to the healthy replicas, round robin, and everything
+ * else to the primary. It has to be used behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the connection is
+ * taken when the first statement runs, after the transaction has been marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    /**
+     * A replica that streams from the primary and has replayed everything it received is up to date,
+     * however old its last replayed transaction is. Without a WAL receiver, for example after losing
+     * the connection to the primary, nothing proves it is current, so its lag is the age of its last
+     * replayed transaction, or unknown ({@code NULL}) if it has replayed none. Roles without
+     * {@code pg_read_all_stats} see the receiver row without its status, so a present receiver counts
+     * as streaming for them. A server that is not in recovery is not a replica and has no lag.
+     */
+    private static final String REPLICATION_LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status IS NULL OR status = 'streaming')
+                    AND pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END""";
+    private final DataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration maxReplicationLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, HikariDataSource> replicas,
+                                    Duration maxReplicationLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxReplicationLag = maxReplicationLag;
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Falls back to the primary when the chosen replica cannot hand out a connection, and stops
+     * routing to that replica until the next health check finds it healthy.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            log.warn("Replica {} is unavailable, reading from the primary", key, e);
+            markUnhealthy((String) key);
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Keeps the replicas that answer and are within the lag tolerance.
+     */
+    @Scheduled(fixedDelayString = "${datasource-routing.health-check-interval:5s}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((name, replica) -> {
+            try (Connection connection = replica.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(1);
+                try (ResultSet resultSet = statement.executeQuery(REPLICATION_LAG_QUERY)) {
+                    resultSet.next();
+                    Duration lag = Duration.ofMillis(resultSet.getLong(1));
+                    if (resultSet.wasNull()) {
+                        log.warn("Replication lag of replica {} is unknown, reading from other servers", name);
+                    } else if (lag.compareTo(maxReplicationLag) <= 0) {
+                        healthy.add(name);
+                    } else {
+                        log.warn("Replica {} lags {} behind the primary, reading from other servers", name, lag);
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Health check of replica {} failed", name, e);
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private synchronized void markUnhealthy(String name) {
+        healthyReplicas = healthyReplicas.stream()
+                .filter(replica -> !replica.equals(name))
+                .toList();
+    }
+}
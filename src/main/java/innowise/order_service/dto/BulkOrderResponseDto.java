@@ -0,0 +1,18 @@
+package innowise.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOrderResponseDto {
+    private int created;
+    private int failed;
+    private List<BulkOrderResultDto> results;
+}
@@ -0,0 +1,17 @@
+package innowise.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOrderResultDto {
+    private int index;
+    private boolean created;
+    private Long orderId;
+    private String error;
+}
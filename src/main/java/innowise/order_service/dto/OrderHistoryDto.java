@@ -0,0 +1,29 @@
+package innowise.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import innowise.order_service.dto.client.UserDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's orders, newest first. The user is looked up once for the whole page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryDto {
+    private Long userId;
+    private UserDto user;
+    private List<OrderHistoryEntryDto> orders;
+
+    /**
+     * Returned in the {@code X-Next-Page-Token} header, not part of the body.
+     */
+    @JsonIgnore
+    private String nextPageToken;
+}
@@ -0,0 +1,28 @@
+package innowise.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order of a user's history, without its lines. Read straight from the covering index on
+ * {@code orders(user_id, creation_date, id)}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderHistoryEntryDto {
+    private Long id;
+    private Status status;
+    private Double totalAmount;
+    private Integer lineCount;
+    private LocalDateTime creationDate;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String failureReason;
+}
@@ -0,0 +1,19 @@
+package innowise.order_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemPatchDto {
+
+    @NotNull(message = "Quantity cant be null")
+    @PositiveOrZero
+    private Integer quantity;
+}
@@ -0,0 +1,20 @@
+package innowise.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderItemResponseDto {
+    private Long itemId;
+    private Integer quantity;
+
+    /**
+     * Price of the item when it was added to the order. Not known yet while the order is pending.
+     */
+    private Double unitPrice;
+}
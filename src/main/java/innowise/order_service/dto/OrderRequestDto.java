@@ -1,5 +1,6 @@
 package innowise.order_service.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -21,5 +22,5 @@ public class OrderRequestDto {
     private Long userId;
 
     @NotEmpty
-    private List<OrderItemRequestDto> orderItems;
+    private List<@NotNull @Valid OrderItemRequestDto> orderItems;
 }
@@ -1,11 +1,14 @@
 package innowise.order_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import innowise.order_service.dto.client.UserDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -16,6 +19,24 @@ public class OrderResponseDto {
     private Long id;
     private Long userId;
     private Status status;
-    private List<OrderItemRequestDto> orderItems;
+    private List<OrderItemResponseDto> orderItems;
+
+    /**
+     * Sum of unit price times quantity over all lines, as stored with the order.
+     */
+    private Double totalAmount;
+    private Integer lineCount;
     private UserDto user;
+
+    /**
+     * Why an asynchronously accepted order was moved to {@link Status#FAILED}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String failureReason;
+
+    /**
+     * Source of the ETag and Last-Modified headers, not part of the body.
+     */
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
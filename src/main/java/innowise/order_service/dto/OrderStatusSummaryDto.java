@@ -0,0 +1,22 @@
+package innowise.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatusSummaryDto {
+    private Long userId;
+    private LocalDate day;
+    private Map<Status, Long> counts;
+    private long total;
+}
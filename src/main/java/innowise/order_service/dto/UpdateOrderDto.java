@@ -1,5 +1,8 @@
 package innowise.order_service.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +15,10 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 public class UpdateOrderDto {
-    private List<OrderItemRequestDto> orderItems;
+
+    /**
+     * The complete new set of lines. Like removing the last line with PATCH, an empty set is rejected.
+     */
+    @NotEmpty(message = "Order must contain at least one item")
+    private List<@NotNull @Valid OrderItemRequestDto> orderItems;
 }
@@ -1,5 +1,6 @@
 package innowise.order_service.entity;
 
+import innowise.order_service.dto.OrderItemRequestDto;
 import innowise.order_service.dto.Status;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -10,15 +11,22 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Data
@@ -29,8 +37,14 @@ import java.util.List;
 @Table(name = "orders")
 public class Order {
 
+    /**
+     * Width of the {@code failure_reason} column; longer reasons are truncated.
+     */
+    public static final int FAILURE_REASON_LENGTH = 255;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -41,14 +55,65 @@ public class Order {
     @Column(name = "status", nullable = false, length = 64)
     private Status status = Status.PENDING;
 
-    @CreationTimestamp
-    @Column(name = "creation_date", nullable = false)
+    /**
+     * Partition key of {@code orders}, copied into the lines as {@code order_creation_date}.
+     * Assigned before the insert, so the lines persisted with the order can reference it.
+     */
+    @Column(name = "creation_date", nullable = false, updatable = false)
     private LocalDateTime creationDate;
 
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Lines of an order accepted asynchronously, kept until a worker has resolved their items.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "requested_items")
+    private List<OrderItemRequestDto> requestedItems;
+
+    @Column(name = "failure_reason", length = FAILURE_REASON_LENGTH)
+    private String failureReason;
+
+    @Builder.Default
+    @Column(name = "total_amount", nullable = false)
+    private Double totalAmount = 0.0;
+
+    @Builder.Default
+    @Column(name = "line_count", nullable = false)
+    private Integer lineCount = 0;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<OrderItem> orderItems;
+
+    @PrePersist
+    void assignCreationDate() {
+        if (creationDate == null) {
+            creationDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
+    /**
+     * Recomputes {@link #totalAmount} and {@link #lineCount} from the price snapshots of the lines.
+     * Must be called whenever the lines change.
+     */
+    public void recalculateTotals() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem orderItem : orderItems) {
+            total = total.add(BigDecimal.valueOf(orderItem.getUnitPrice())
+                    .multiply(BigDecimal.valueOf(orderItem.getQuantity())));
+        }
+        totalAmount = total.setScale(2, RoundingMode.HALF_UP).doubleValue();
+        lineCount = orderItems.size();
+    }
+
+    /**
+     * Marks the order as modified after its lines changed. Line changes alone leave the order row
+     * untouched, so {@code updated_at}, which the order's ETag derives from, would keep its old value.
+     */
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
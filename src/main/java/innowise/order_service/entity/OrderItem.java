@@ -8,12 +8,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "order_items")
 @Data
@@ -22,17 +26,36 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    /**
+     * Creation date of the order, the partition key of {@code order_items}. Together with
+     * {@code order_id} it references the order, so lookups by order prune to one partition.
+     */
+    @Column(name = "order_creation_date", nullable = false, updatable = false)
+    private LocalDateTime orderCreationDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
     @Column(nullable = false)
     private Integer quantity;
+
+    /**
+     * Price of the item when the line was created, so later catalog changes do not alter the order.
+     */
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice;
+
+    @PrePersist
+    void assignOrderCreationDate() {
+        orderCreationDate = order.getCreationDate();
+    }
 }
@@ -0,0 +1,11 @@
+package innowise.order_service.exception;
+
+/**
+ * Another request with the same idempotency key is still running.
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+
+    public IdempotencyKeyInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package innowise.order_service.exception;
+
+/**
+ * An idempotency key was sent again with a different payload.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package innowise.order_service.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Streaming exports are written on a small dedicated pool, which bounds the number of database
+ * connections that long-running exports can hold. The pool is used by the export endpoint only;
+ * other asynchronous handlers keep the application's default executor and timeout.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    private final ExportProperties properties;
+
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrent());
+        executor.setMaxPoolSize(properties.getMaxConcurrent());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package innowise.order_service.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    /**
+     * Number of exports streamed at the same time. Each of them keeps one database connection.
+     */
+    private int maxConcurrent = 2;
+
+    /**
+     * Number of exports waiting for a free slot before new ones are rejected.
+     */
+    private int queueCapacity = 4;
+
+    private Duration timeout = Duration.ofHours(1);
+}
@@ -0,0 +1,35 @@
+package innowise.order_service.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long the response of a completed request is replayed for retries with the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays claimed by a request that is still running. Must exceed the slowest request,
+     * otherwise a retry may run the request a second time.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * How long a duplicate waits for the request holding the key before it is rejected with 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    private int maxKeyLength = 255;
+
+    private String keyPrefix = "order-service:idempotency:";
+}
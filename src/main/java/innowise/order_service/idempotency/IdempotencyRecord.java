@@ -0,0 +1,30 @@
+package innowise.order_service.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
+
+/**
+ * State of an idempotency key. A request in flight only holds the fingerprint of its payload and a token
+ * identifying the claim; a completed request also holds the response to replay.
+ */
+public record IdempotencyRecord(
+        String token,
+        String fingerprint,
+        Integer status,
+        String location,
+        JsonNode body
+) {
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(UUID.randomUUID().toString(), fingerprint, null, null, null);
+    }
+
+    public IdempotencyRecord complete(int status, String location, JsonNode body) {
+        return new IdempotencyRecord(token, fingerprint, status, location, body);
+    }
+
+    public boolean completed() {
+        return status != null;
+    }
+}
@@ -0,0 +1,142 @@
+package innowise.order_service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.exception.IdempotencyKeyInUseException;
+import innowise.order_service.exception.IdempotencyKeyReusedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per idempotency key. A retry with the same key and payload gets the
+ * recorded response without running the request again; a duplicate that arrives while the first
+ * request is still running waits for its response. Only successful responses are recorded, so
+ * a failed request can be retried with the same key. When Redis is unavailable requests are
+ * processed without idempotency rather than rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public final IdempotencyStore idempotencyStore;
+    public final IdempotencyProperties properties;
+    public final ObjectMapper objectMapper;
+
+    /**
+     * @param scope   operation the key belongs to, so equal keys of different operations do not collide
+     * @param request payload of the request; a key may only be reused with an equal payload
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new IllegalArgumentException(String.format(
+                    "Idempotency key must have between 1 and %d characters", properties.getMaxKeyLength()));
+        }
+        String storeKey = properties.getKeyPrefix() + scope + ":" + key;
+        IdempotencyRecord inFlight = IdempotencyRecord.inFlight(fingerprint(request));
+
+        try {
+            Optional<IdempotencyRecord> completed = claimOrAwait(storeKey, inFlight);
+            if (completed.isPresent()) {
+                return replay(completed.get(), responseType);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, processing request with key {} without it", key, e);
+            return action.get();
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            releaseQuietly(storeKey, inFlight);
+            throw e;
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            completeQuietly(storeKey, inFlight.complete(response.getStatusCode().value(),
+                    Optional.ofNullable(response.getHeaders().getLocation()).map(URI::toString).orElse(null),
+                    objectMapper.valueToTree(response.getBody())));
+        } else {
+            releaseQuietly(storeKey, inFlight);
+        }
+        return response;
+    }
+
+    /**
+     * Claims the key, or waits until the request holding it completes.
+     *
+     * @return the completed record, or empty once the key is claimed by this request
+     */
+    private Optional<IdempotencyRecord> claimOrAwait(String storeKey, IdempotencyRecord inFlight) {
+        Instant deadline = Instant.now().plus(properties.getWaitTimeout());
+        while (!idempotencyStore.tryClaim(storeKey, inFlight)) {
+            Optional<IdempotencyRecord> existing = idempotencyStore.get(storeKey);
+            if (existing.isPresent()) {
+                if (!existing.get().fingerprint().equals(inFlight.fingerprint())) {
+                    throw new IdempotencyKeyReusedException(
+                            "Idempotency key was already used for a different request");
+                }
+                if (existing.get().completed()) {
+                    return existing;
+                }
+            }
+            if (Instant.now().isAfter(deadline)) {
+                throw new IdempotencyKeyInUseException(
+                        "A request with the same idempotency key is still being processed");
+            }
+            try {
+                Thread.sleep(properties.getPollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInUseException(
+                        "Interrupted while waiting for a request with the same idempotency key");
+            }
+        }
+        return Optional.empty();
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord completed, Class<T> responseType) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(completed.status())
+                .header(REPLAYED_HEADER, "true");
+        if (completed.location() != null) {
+            response.location(URI.create(completed.location()));
+        }
+        return response.body(objectMapper.convertValue(completed.body(), responseType));
+    }
+
+    private String fingerprint(Object request) {
+        return DigestUtils.md5DigestAsHex(objectMapper.valueToTree(request).toString()
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void completeQuietly(String storeKey, IdempotencyRecord completed) {
+        try {
+            idempotencyStore.complete(storeKey, completed);
+        } catch (DataAccessException e) {
+            log.warn("Failed to record the response for idempotency key {}", storeKey, e);
+        }
+    }
+
+    private void releaseQuietly(String storeKey, IdempotencyRecord inFlight) {
+        try {
+            idempotencyStore.release(storeKey, inFlight);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release idempotency key {}", storeKey, e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package innowise.order_service.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency keys in Redis, shared by all instances. Records expire on their own: claims after
+ * the lease, completed requests after the TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private static final RedisScript<Long> DELETE_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, IdempotencyRecord> idempotencyRedisTemplate;
+    private final IdempotencyProperties properties;
+
+    /**
+     * Claims the key for a request about to run.
+     *
+     * @return {@code false} if the key is already claimed or completed
+     */
+    public boolean tryClaim(String key, IdempotencyRecord inFlight) {
+        return Boolean.TRUE.equals(idempotencyRedisTemplate.opsForValue()
+                .setIfAbsent(key, inFlight, properties.getLease()));
+    }
+
+    public Optional<IdempotencyRecord> get(String key) {
+        return Optional.ofNullable(idempotencyRedisTemplate.opsForValue().get(key));
+    }
+
+    public void complete(String key, IdempotencyRecord completed) {
+        idempotencyRedisTemplate.opsForValue().set(key, completed, properties.getTtl());
+    }
+
+    /**
+     * Gives up a claim so that a retry can run the request, unless the claim has meanwhile expired
+     * and been taken over by another request.
+     */
+    public void release(String key, IdempotencyRecord inFlight) {
+        idempotencyRedisTemplate.execute(DELETE_IF_UNCHANGED, List.of(key), inFlight);
+    }
+}
@@ -1,6 +1,6 @@
 package innowise.order_service.mapper;
 
-import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderItemResponseDto;
 import innowise.order_service.dto.OrderRequestDto;
 import innowise.order_service.dto.OrderResponseDto;
 import innowise.order_service.entity.Order;
@@ -25,10 +25,14 @@ public interface OrderMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "creationDate", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "requestedItems", ignore = true)
+    @Mapping(target = "failureReason", ignore = true)
+    @Mapping(target = "totalAmount", ignore = true)
+    @Mapping(target = "lineCount", ignore = true)
     Order toEntity(OrderRequestDto orderRequestDto);
 
     @Named("mapOrderItemsToDto")
-    default List<OrderItemRequestDto> mapOrderItemsToDto(List<OrderItem> orderItems) {
+    default List<OrderItemResponseDto> mapOrderItemsToDto(List<OrderItem> orderItems) {
         if (orderItems == null) {
             return Collections.emptyList();
         }
@@ -37,10 +41,11 @@ public interface OrderMapper {
                 .toList();
     }
 
-    default OrderItemRequestDto toOrderItemDto(OrderItem orderItem) {
-        return OrderItemRequestDto.builder()
+    default OrderItemResponseDto toOrderItemDto(OrderItem orderItem) {
+        return OrderItemResponseDto.builder()
                 .itemId(orderItem.getItem().getId())
                 .quantity(orderItem.getQuantity())
+                .unitPrice(orderItem.getUnitPrice())
                 .build();
     }
 }
@@ -0,0 +1,69 @@
+package innowise.order_service.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the statements prepared on connections of the {@code dataSource} bean into the count
+ * bound to the current thread. Counting at the connection covers Hibernate, the JDBC read model
+ * and the bulk paths alike; statements of threads without a bound count are not counted.
+ */
+@Component
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final ThreadLocal<AtomicInteger> statements = new ThreadLocal<>();
+
+    /**
+     * Counts the statements of the current thread into the given count until {@link #unbind()}.
+     */
+    public void bind(AtomicInteger count) {
+        statements.set(count);
+    }
+
+    public void unbind() {
+        statements.remove();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || !beanName.equals("dataSource")) {
+            return bean;
+        }
+        // A class proxy keeps the pool type, so pool metrics and HikariDataSource injection still work.
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection ? counting(connection) : result;
+        });
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (STATEMENT_FACTORIES.contains(method.getName())) {
+                        AtomicInteger count = statements.get();
+                        if (count != null) {
+                            count.incrementAndGet();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,37 @@
+package innowise.order_service.metrics;
+
+import innowise.order_service.cache.ItemCache;
+import innowise.order_service.cache.ItemCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder itemCacheMetrics(ItemCache itemCache) {
+        return registry -> {
+            itemCacheCounter(registry, itemCache, "near", "hit", ItemCacheStats::nearHits);
+            itemCacheCounter(registry, itemCache, "near", "miss", ItemCacheStats::nearMisses);
+            itemCacheCounter(registry, itemCache, "shared", "hit", ItemCacheStats::sharedHits);
+            itemCacheCounter(registry, itemCache, "shared", "miss", ItemCacheStats::sharedMisses);
+            itemCacheCounter(registry, itemCache, "shared", "error", ItemCacheStats::sharedErrors);
+            FunctionCounter.builder("item.cache.evictions", itemCache, cache -> cache.stats().nearEvictions())
+                    .description("Items evicted from the near cache tier")
+                    .register(registry);
+        };
+    }
+
+    private static void itemCacheCounter(MeterRegistry registry, ItemCache itemCache, String tier, String result,
+                                         ToDoubleFunction<ItemCacheStats> value) {
+        FunctionCounter.builder("item.cache.requests", itemCache, cache -> value.applyAsDouble(cache.stats()))
+                .description("Item cache lookups by tier and result")
+                .tags("tier", tier, "result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package innowise.order_service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Domain metrics of the order write paths.
+ */
+@Component
+public class OrderMetrics {
+
+    private final DistributionSummary itemCacheHits;
+    private final DistributionSummary itemCacheMisses;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.itemCacheHits = itemLookups(meterRegistry, "hit");
+        this.itemCacheMisses = itemLookups(meterRegistry, "miss");
+    }
+
+    /**
+     * Records one item lookup: a single order, or a chunk of a bulk request. Misses are loaded
+     * from the database.
+     */
+    public void recordItemLookup(int cacheHits, int cacheMisses) {
+        itemCacheHits.record(cacheHits);
+        itemCacheMisses.record(cacheMisses);
+    }
+
+    private static DistributionSummary itemLookups(MeterRegistry meterRegistry, String outcome) {
+        return DistributionSummary.builder("orders.item.lookups")
+                .description("Distinct items resolved per item lookup")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
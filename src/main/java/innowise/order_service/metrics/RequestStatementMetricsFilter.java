@@ -0,0 +1,90 @@
+package innowise.order_service.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the JDBC statements of every request as {@code http.server.requests.statements},
+ * with the same method, uri, status and outcome tags as {@code http.server.requests}.
+ * Asynchronous requests are recorded once, after their async dispatch, and include the
+ * statements their callable prepared on the async executor.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the {@link AtomicInteger} count of the request's statements.
+     */
+    public static final String STATEMENT_COUNT_ATTRIBUTE = RequestStatementMetricsFilter.class.getName() + ".count";
+
+    private final JdbcStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(STATEMENT_COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = new AtomicInteger();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, count);
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(STATEMENT_COUNT_ATTRIBUTE, counting(count));
+        }
+        statementCounter.bind(count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementCounter.unbind();
+            if (!isAsyncStarted(request)) {
+                record(request, response, count.get());
+            }
+        }
+    }
+
+    private CallableProcessingInterceptor counting(AtomicInteger count) {
+        return new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                statementCounter.bind(count);
+            }
+
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                statementCounter.unbind();
+            }
+        };
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, int statements) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("JDBC statements prepared per request")
+                .tags("method", request.getMethod(),
+                        "uri", uri != null ? uri.toString() : "UNKNOWN",
+                        "status", String.valueOf(response.getStatus()),
+                        "outcome", Outcome.forStatus(response.getStatus()).name())
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
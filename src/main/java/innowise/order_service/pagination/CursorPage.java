@@ -0,0 +1,12 @@
+package innowise.order_service.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result. {@code nextPageToken} is {@code null} on the last page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextPageToken
+) {
+}
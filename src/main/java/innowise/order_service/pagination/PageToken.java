@@ -0,0 +1,43 @@
+package innowise.order_service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque continuation token that carries the keyset position of the last returned row.
+ * The scope ties a token to the query it was issued for, so it cannot be replayed against another one.
+ */
+public final class PageToken {
+
+    private static final String SEPARATOR = "|";
+
+    private PageToken() {
+    }
+
+    public static String encode(String scope, Object... position) {
+        StringBuilder token = new StringBuilder(scope);
+        Arrays.stream(position).forEach(value -> token.append(SEPARATOR).append(value));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the position values in the order they were encoded
+     * @throws IllegalArgumentException if the token is malformed or was issued for another scope
+     */
+    public static List<String> decode(String token, String scope, int positionSize) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+        List<String> parts = List.of(decoded.split("\\" + SEPARATOR, -1));
+        if (parts.size() != positionSize + 1 || !parts.get(0).equals(scope)) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+        return parts.subList(1, parts.size());
+    }
+}
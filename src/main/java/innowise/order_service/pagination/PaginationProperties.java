@@ -0,0 +1,26 @@
+package innowise.order_service.pagination;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    private int defaultPageSize = 50;
+
+    /**
+     * Upper bound for the page size; larger requested sizes are reduced to it.
+     */
+    private int maxPageSize = 500;
+
+    public int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultPageSize;
+        }
+        if (requestedSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requestedSize, maxPageSize);
+    }
+}
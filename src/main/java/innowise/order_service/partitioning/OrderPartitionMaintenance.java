@@ -0,0 +1,36 @@
+package innowise.order_service.partitioning;
+
+import innowise.order_service.service.OrderPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDate;
+
+/**
+ * Runs the partition maintenance once before the application starts serving requests, so the
+ * partitions of the coming months exist before the first order is stored, and then daily.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OrderPartitionMaintenance implements SmartInitializingSingleton {
+
+    private final OrderPartitionService orderPartitionService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${order-partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!orderPartitionService.maintainPartitions(LocalDate.now())) {
+                log.info("Order partitions are being maintained by another instance");
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to maintain order partitions", e);
+        }
+    }
+}
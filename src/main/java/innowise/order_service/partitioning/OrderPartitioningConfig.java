@@ -0,0 +1,24 @@
+package innowise.order_service.partitioning;
+
+import innowise.order_service.service.OrderPartitionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduling itself for the daily partition maintenance, independent of the other features
+ * that schedule work.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OrderPartitioningProperties.class)
+public class OrderPartitioningConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order-partitioning.maintenance-enabled", havingValue = "true", matchIfMissing = true)
+    public OrderPartitionMaintenance orderPartitionMaintenance(OrderPartitionService orderPartitionService) {
+        return new OrderPartitionMaintenance(orderPartitionService);
+    }
+}
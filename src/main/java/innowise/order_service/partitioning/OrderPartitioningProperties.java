@@ -0,0 +1,40 @@
+package innowise.order_service.partitioning;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Period;
+
+@Data
+@ConfigurationProperties(prefix = "order-partitioning")
+public class OrderPartitioningProperties {
+
+    /**
+     * Whether this instance maintains the partitions, at startup and then on {@link #maintenanceCron}.
+     */
+    private boolean maintenanceEnabled = true;
+
+    private String maintenanceCron = "0 0 3 * * *";
+
+    /**
+     * Number of monthly partitions kept ready after the current month.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Partitions whose range ended this long before the start of the current month are archived.
+     * Without a retention, all partitions are kept, and lookups by id, which probe every
+     * partition, slow down as partitions accumulate.
+     */
+    private Period retention;
+
+    private ArchiveMode archiveMode = ArchiveMode.DETACH;
+
+    public enum ArchiveMode {
+        /**
+         * Detached partitions are kept as plain tables in the {@code order_archive} schema.
+         */
+        DETACH,
+        DROP
+    }
+}
@@ -0,0 +1,99 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Plain JDBC writes for bulk operations, sent as JDBC batches instead of one statement per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+
+    /**
+     * Increment of the id sequences created in V003, equal to the allocation size of the entities.
+     * Every value taken from a sequence reserves the block of ids that ends with it.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String ALLOCATE_ID_BLOCKS = "SELECT nextval(CAST(:sequence AS regclass)) "
+            + "FROM generate_series(1, :blocks)";
+
+    private static final String INSERT_ORDER = """
+            INSERT INTO orders (id, user_id, status, creation_date, updated_at, total_amount, line_count)
+            VALUES (:id, :userId, :status, :creationDate, :updatedAt, :totalAmount, :lineCount)""";
+
+    private static final String INSERT_ORDER_ITEM = """
+            INSERT INTO order_items (id, order_id, order_creation_date, item_id, quantity, unit_price)
+            VALUES (:id, :orderId, :orderCreationDate, :itemId, :quantity, :unitPrice)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Assigns ids to the orders and inserts them with one batch.
+     */
+    public void insertOrders(List<Order> orders) {
+        List<Long> ids = allocateIds("orders_seq", orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(ids.get(i));
+        }
+        SqlParameterSource[] parameters = orders.stream()
+                .map(order -> new MapSqlParameterSource()
+                        .addValue("id", order.getId())
+                        .addValue("userId", order.getUserId())
+                        .addValue("status", order.getStatus().name())
+                        .addValue("creationDate", order.getCreationDate())
+                        .addValue("updatedAt", order.getUpdatedAt())
+                        .addValue("totalAmount", order.getTotalAmount())
+                        .addValue("lineCount", order.getLineCount()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ORDER, parameters);
+    }
+
+    /**
+     * Assigns ids to the order lines and inserts them with one batch. Their orders must already have ids.
+     */
+    public void insertOrderItems(List<OrderItem> orderItems) {
+        List<Long> ids = allocateIds("order_items_seq", orderItems.size());
+        for (int i = 0; i < orderItems.size(); i++) {
+            orderItems.get(i).setId(ids.get(i));
+        }
+        SqlParameterSource[] parameters = orderItems.stream()
+                .map(orderItem -> new MapSqlParameterSource()
+                        .addValue("id", orderItem.getId())
+                        .addValue("orderId", orderItem.getOrder().getId())
+                        .addValue("orderCreationDate", orderItem.getOrder().getCreationDate())
+                        .addValue("itemId", orderItem.getItem().getId())
+                        .addValue("quantity", orderItem.getQuantity())
+                        .addValue("unitPrice", orderItem.getUnitPrice()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, parameters);
+    }
+
+    /**
+     * Reserves ids the same way Hibernate's pooled optimizer does, so both can share a sequence.
+     */
+    private List<Long> allocateIds(String sequence, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> blockEnds = jdbcTemplate.queryForList(ALLOCATE_ID_BLOCKS,
+                new MapSqlParameterSource()
+                        .addValue("sequence", sequence)
+                        .addValue("blocks", blocks),
+                Long.class);
+        return blockEnds.stream()
+                .flatMap(blockEnd -> LongStream.rangeClosed(blockEnd - ID_BLOCK_SIZE + 1, blockEnd).boxed())
+                .limit(count)
+                .toList();
+    }
+}
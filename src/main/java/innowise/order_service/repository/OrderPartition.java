@@ -0,0 +1,25 @@
+package innowise.order_service.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One range partition of {@code orders}, paired with the {@code order_items} partition of the same range.
+ *
+ * @param suffix name of the partition without the table prefix, e.g. {@code p202410} for {@code orders_p202410}
+ * @param from   inclusive lower bound of the creation date, or {@code null} for {@code MINVALUE}
+ * @param to     exclusive upper bound of the creation date, or {@code null} for {@code MAXVALUE}
+ */
+public record OrderPartition(
+        String suffix,
+        LocalDateTime from,
+        LocalDateTime to
+) {
+
+    public String ordersTable() {
+        return "orders_" + suffix;
+    }
+
+    public String orderItemsTable() {
+        return "order_items_" + suffix;
+    }
+}
@@ -0,0 +1,124 @@
+package innowise.order_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the monthly partitions of {@code orders} and {@code order_items}. Both tables are partitioned
+ * by the order's creation date with identical ranges, so every change is applied to the pair.
+ * Must be called within a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+
+    /**
+     * Key of the transaction-level advisory lock that serializes maintenance across instances.
+     */
+    private static final long MAINTENANCE_LOCK_KEY = 7_301_002_301L;
+
+    private static final String ARCHIVE_SCHEMA = "order_archive";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = CAST('orders' AS regclass)""";
+
+    private static final String SUBTRACT_DAILY_COUNTS = """
+            INSERT INTO order_status_daily_counts (user_id, day, status, order_count)
+            SELECT user_id, CAST(creation_date AS date), status, -COUNT(*)
+            FROM %s
+            GROUP BY user_id, CAST(creation_date AS date), status
+            ON CONFLICT (user_id, day, status)
+            DO UPDATE SET order_count = order_status_daily_counts.order_count + EXCLUDED.order_count""";
+
+    private static final String SUBTRACT_COUNTS = """
+            INSERT INTO order_status_counts (status, slot, order_count)
+            SELECT status, 0, -COUNT(*)
+            FROM %s
+            GROUP BY status
+            ON CONFLICT (status, slot)
+            DO UPDATE SET order_count = order_status_counts.order_count + EXCLUDED.order_count""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the maintenance lock for the current transaction.
+     *
+     * @return {@code false} if another transaction holds it
+     */
+    public boolean tryLockMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                new MapSqlParameterSource("key", MAINTENANCE_LOCK_KEY), Boolean.class));
+    }
+
+    /**
+     * Returns the attached partitions in ascending order of their ranges.
+     */
+    public List<OrderPartition> findPartitions() {
+        return jdbcTemplate.query(FIND_PARTITIONS, (resultSet, rowNum) -> {
+                    String bound = resultSet.getString("bound");
+                    Matcher matcher = RANGE_BOUND.matcher(bound);
+                    if (!matcher.matches()) {
+                        throw new IllegalStateException("Unexpected bound of orders partition: " + bound);
+                    }
+                    return new OrderPartition(resultSet.getString("name").substring("orders_".length()),
+                            parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+                }).stream()
+                .sorted(Comparator.comparing(OrderPartition::from, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    public void createPartition(OrderPartition partition) {
+        String range = "FOR VALUES FROM ('%s') TO ('%s')".formatted(
+                BOUND_FORMAT.format(partition.from()), BOUND_FORMAT.format(partition.to()));
+        execute("CREATE TABLE %s PARTITION OF orders %s".formatted(partition.ordersTable(), range));
+        execute("CREATE TABLE %s PARTITION OF order_items %s".formatted(partition.orderItemsTable(), range));
+    }
+
+    /**
+     * Detaches the partition pair and removes its orders from the status counts. Detached tables
+     * are moved to the {@value #ARCHIVE_SCHEMA} schema, or dropped when {@code drop} is set.
+     */
+    public void archivePartition(OrderPartition partition, boolean drop) {
+        // Same lock order as the write paths, which insert orders before their lines.
+        execute("LOCK TABLE orders, order_items IN ACCESS EXCLUSIVE MODE");
+        execute("ALTER TABLE order_items DETACH PARTITION " + partition.orderItemsTable());
+        execute("ALTER TABLE %s DROP CONSTRAINT IF EXISTS fk_order_items_order"
+                .formatted(partition.orderItemsTable()));
+        execute("ALTER TABLE orders DETACH PARTITION " + partition.ordersTable());
+        execute(SUBTRACT_DAILY_COUNTS.formatted(partition.ordersTable()));
+        execute(SUBTRACT_COUNTS.formatted(partition.ordersTable()));
+        execute("DELETE FROM order_status_daily_counts WHERE order_count = 0");
+
+        for (String table : List.of(partition.orderItemsTable(), partition.ordersTable())) {
+            execute(drop
+                    ? "DROP TABLE " + table
+                    : "ALTER TABLE %s SET SCHEMA %s".formatted(table, ARCHIVE_SCHEMA));
+        }
+    }
+
+    private void execute(String sql) {
+        jdbcTemplate.getJdbcTemplate().execute(sql);
+    }
+
+    private static LocalDateTime parseBound(String value) {
+        if (value.equals("MINVALUE") || value.equals("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(value.substring(1, value.length() - 1).replace(' ', 'T'));
+    }
+}
@@ -0,0 +1,191 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.dto.OrderHistoryEntryDto;
+import innowise.order_service.dto.OrderItemResponseDto;
+import innowise.order_service.dto.OrderResponseDto;
+import innowise.order_service.dto.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read model of the order endpoints. Orders and their lines are read with one flat join and mapped
+ * straight into response DTOs, without loading managed entities. Writes go through {@link OrderRepository}.
+ * Lines are joined on the order's id and creation date, so each order's lines are read from the one
+ * {@code order_items} partition that matches its own.
+ * <p>
+ * Lookups by id are not pruned: an id does not reveal its creation month, so they probe the primary
+ * key index of every {@code orders} partition. Each probe reads a few pages, and the retention
+ * period bounds the number of partitions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderReadRepository {
+
+    private static final String SELECT_ORDERS = """
+            SELECT o.id, o.user_id, o.status, o.failure_reason, o.total_amount, o.line_count, o.updated_at,
+                   oi.item_id, oi.quantity, oi.unit_price
+            FROM %s o
+            LEFT JOIN order_items oi ON oi.order_id = o.id AND oi.order_creation_date = o.creation_date
+            ORDER BY o.id, oi.id""";
+
+    private static final String FIND_BY_IDS = SELECT_ORDERS.formatted("""
+            (SELECT id, user_id, status, creation_date, failure_reason, total_amount, line_count, updated_at
+             FROM orders
+             WHERE id IN (:ids))""");
+
+    private static final String FIND_BY_STATUS_AFTER_ID = SELECT_ORDERS.formatted("""
+            (SELECT id, user_id, status, creation_date, failure_reason, total_amount, line_count, updated_at
+             FROM orders
+             WHERE status = :status AND id > :afterId%s
+             ORDER BY id
+             LIMIT :limit)""");
+
+    private static final String FIND_VERSIONS_BY_IDS = """
+            SELECT id, updated_at FROM orders
+            WHERE id IN (:ids)
+            ORDER BY id""";
+
+    private static final String FIND_HISTORY_BY_USER_ID = """
+            SELECT id, status, total_amount, line_count, creation_date, failure_reason
+            FROM orders
+            WHERE user_id = :userId%s
+            ORDER BY creation_date DESC, id DESC
+            LIMIT :limit""";
+
+    private static final RowMapper<OrderHistoryEntryDto> HISTORY_ENTRY_MAPPER = (resultSet, rowNum) ->
+            OrderHistoryEntryDto.builder()
+                    .id(resultSet.getLong("id"))
+                    .status(Status.valueOf(resultSet.getString("status")))
+                    .totalAmount(resultSet.getDouble("total_amount"))
+                    .lineCount(resultSet.getInt("line_count"))
+                    .creationDate(resultSet.getTimestamp("creation_date").toLocalDateTime())
+                    .failureReason(resultSet.getString("failure_reason"))
+                    .build();
+
+    private static final ResultSetExtractor<List<OrderResponseDto>> ORDERS_EXTRACTOR = resultSet -> {
+        Map<Long, OrderResponseDto> orders = new LinkedHashMap<>();
+        while (resultSet.next()) {
+            OrderResponseDto order = orders.computeIfAbsent(resultSet.getLong("id"), id -> new OrderResponseDto());
+            if (order.getId() == null) {
+                order.setId(resultSet.getLong("id"));
+                order.setUserId(resultSet.getLong("user_id"));
+                order.setStatus(Status.valueOf(resultSet.getString("status")));
+                order.setFailureReason(resultSet.getString("failure_reason"));
+                order.setTotalAmount(resultSet.getDouble("total_amount"));
+                order.setLineCount(resultSet.getInt("line_count"));
+                order.setUpdatedAt(resultSet.getTimestamp("updated_at").toLocalDateTime());
+                order.setOrderItems(new ArrayList<>());
+            }
+            long itemId = resultSet.getLong("item_id");
+            if (!resultSet.wasNull()) {
+                order.getOrderItems().add(new OrderItemResponseDto(
+                        itemId, resultSet.getInt("quantity"), resultSet.getDouble("unit_price")));
+            }
+        }
+        return new ArrayList<>(orders.values());
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<OrderResponseDto> findById(Long id) {
+        return findAllById(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Returns the existing orders among the given ids in ascending id order.
+     */
+    public List<OrderResponseDto> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(FIND_BY_IDS, new MapSqlParameterSource("ids", ids), ORDERS_EXTRACTOR);
+    }
+
+    /**
+     * Returns the versions of the existing orders among the given ids in ascending id order,
+     * reading nothing but the primary key and the modification time.
+     */
+    public List<OrderVersion> findVersionsById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(FIND_VERSIONS_BY_IDS, new MapSqlParameterSource("ids", ids),
+                (resultSet, rowNum) -> new OrderVersion(
+                        resultSet.getLong("id"), resultSet.getTimestamp("updated_at").toLocalDateTime()));
+    }
+
+    /**
+     * Returns at most {@code limit} orders with the given status and an id greater than {@code afterId},
+     * in ascending id order. Bounds on the creation date restrict the scan to the matching partitions.
+     *
+     * @param from inclusive lower bound of the creation date, or {@code null} for no lower bound
+     * @param to   exclusive upper bound of the creation date, or {@code null} for no upper bound
+     */
+    public List<OrderResponseDto> findByStatusAfterId(Status status, LocalDateTime from, LocalDateTime to,
+                                                      long afterId, int limit) {
+        StringBuilder conditions = new StringBuilder();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        if (from != null) {
+            conditions.append(" AND creation_date >= :from");
+            parameters.addValue("from", from);
+        }
+        if (to != null) {
+            conditions.append(" AND creation_date < :to");
+            parameters.addValue("to", to);
+        }
+        return jdbcTemplate.query(FIND_BY_STATUS_AFTER_ID.formatted(conditions), parameters, ORDERS_EXTRACTOR);
+    }
+
+    /**
+     * Returns at most {@code limit} of the user's orders newest first, read from the covering index on
+     * {@code orders(user_id, creation_date, id)}. Only the conditions in use are part of the statement,
+     * so the first page and the following pages each get a statement whose bounds are index bounds.
+     *
+     * @param from               inclusive lower bound of the creation date, or {@code null} for no lower bound
+     * @param to                 exclusive upper bound of the creation date, or {@code null} for no upper bound
+     * @param beforeCreationDate creation date of the last order of the previous page, or {@code null} for the
+     *                           first page
+     * @param beforeId           id of the last order of the previous page
+     */
+    public List<OrderHistoryEntryDto> findHistoryByUserId(Long userId, Status status, LocalDateTime from,
+                                                          LocalDateTime to, LocalDateTime beforeCreationDate,
+                                                          Long beforeId, int limit) {
+        StringBuilder conditions = new StringBuilder();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        if (status != null) {
+            conditions.append(" AND status = :status");
+            parameters.addValue("status", status.name());
+        }
+        if (from != null) {
+            conditions.append(" AND creation_date >= :from");
+            parameters.addValue("from", from);
+        }
+        if (to != null) {
+            conditions.append(" AND creation_date < :to");
+            parameters.addValue("to", to);
+        }
+        if (beforeCreationDate != null) {
+            conditions.append(" AND (creation_date, id) < (:beforeCreationDate, :beforeId)");
+            parameters.addValue("beforeCreationDate", beforeCreationDate)
+                    .addValue("beforeId", beforeId);
+        }
+        return jdbcTemplate.query(FIND_HISTORY_BY_USER_ID.formatted(conditions), parameters, HISTORY_ENTRY_MAPPER);
+    }
+}
@@ -2,12 +2,66 @@ package innowise.order_service.repository;
 
 import innowise.order_service.dto.Status;
 import innowise.order_service.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByStatus(Status status);
+
+    /**
+     * Probes the primary key index of every partition, as the id does not reveal the creation month.
+     */
+    @Override
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findAllById(Iterable<Long> ids);
+
+    /**
+     * Locks up to {@code limit} orders awaiting asynchronous acceptance for the calling transaction. Orders locked by other
+     * workers are skipped instead of waited for, so concurrent workers claim disjoint batches.
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE status = 'PENDING' AND requested_items IS NOT NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Order> claimPendingOrders(@Param("limit") int limit);
+
+    /**
+     * Locks the order for the calling transaction if it still awaits asynchronous acceptance and no other worker
+     * holds it.
+     */
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE id = :id AND status = 'PENDING' AND requested_items IS NOT NULL
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    Optional<Order> claimPendingOrder(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select o from Order o
+            left join fetch o.orderItems
+            where o.status = :status and o.creationDate >= :from and o.creationDate < :to
+            order by o.id""")
+    Stream<Order> streamByStatusAndCreationDate(@Param("status") Status status,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
 }
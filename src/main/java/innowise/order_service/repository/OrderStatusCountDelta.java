@@ -0,0 +1,32 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+
+import java.time.LocalDate;
+
+/**
+ * Change of the number of orders of one user, created on one day, with one status.
+ */
+public record OrderStatusCountDelta(
+        Long userId,
+        LocalDate day,
+        Status status,
+        long delta
+) {
+
+    public static OrderStatusCountDelta added(Order order) {
+        return new OrderStatusCountDelta(order.getUserId(), creationDay(order), order.getStatus(), 1);
+    }
+
+    public static OrderStatusCountDelta removed(Order order) {
+        return new OrderStatusCountDelta(order.getUserId(), creationDay(order), order.getStatus(), -1);
+    }
+
+    /**
+     * The creation date of a new order is only assigned when it is persisted, so such orders count for today.
+     */
+    private static LocalDate creationDay(Order order) {
+        return order.getCreationDate() == null ? LocalDate.now() : order.getCreationDate().toLocalDate();
+    }
+}
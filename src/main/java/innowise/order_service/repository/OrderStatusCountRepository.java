@@ -0,0 +1,134 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.dto.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order counts per status, maintained by the write paths in the same transaction as the orders
+ * themselves. Counts per user and creation day live in {@code order_status_daily_counts}.
+ * Overall counts live in {@code order_status_counts}, spread over {@value #SLOTS} rows per status
+ * so that concurrent writers rarely wait for the same row lock; readers sum the slots.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusCountRepository {
+
+    static final int SLOTS = 16;
+
+    private static final Comparator<DailyKey> DAILY_KEY_ORDER = Comparator.comparing(DailyKey::userId)
+            .thenComparing(DailyKey::day)
+            .thenComparing(DailyKey::status);
+
+    private static final String UPSERT_DAILY_COUNT = """
+            INSERT INTO order_status_daily_counts (user_id, day, status, order_count)
+            VALUES (:userId, :day, :status, :delta)
+            ON CONFLICT (user_id, day, status)
+            DO UPDATE SET order_count = order_status_daily_counts.order_count + EXCLUDED.order_count""";
+
+    private static final String UPSERT_COUNT = """
+            INSERT INTO order_status_counts (status, slot, order_count)
+            VALUES (:status, :slot, :delta)
+            ON CONFLICT (status, slot)
+            DO UPDATE SET order_count = order_status_counts.order_count + EXCLUDED.order_count""";
+
+    private static final String SUM_COUNTS = """
+            SELECT status, SUM(order_count) AS order_count
+            FROM order_status_counts
+            GROUP BY status""";
+
+    private static final String SUM_DAILY_COUNTS = """
+            SELECT status, SUM(order_count) AS order_count
+            FROM order_status_daily_counts
+            WHERE %s
+            GROUP BY status""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the deltas within the current transaction. Deltas for the same row are merged first,
+     * and rows are always updated in the same order, so concurrent writers cannot deadlock each other.
+     */
+    public void apply(Collection<OrderStatusCountDelta> deltas) {
+        Map<DailyKey, Long> dailyDeltas = new TreeMap<>(DAILY_KEY_ORDER);
+        Map<Status, Long> statusDeltas = new EnumMap<>(Status.class);
+        for (OrderStatusCountDelta delta : deltas) {
+            dailyDeltas.merge(new DailyKey(delta.userId(), delta.day(), delta.status()), delta.delta(), Long::sum);
+            statusDeltas.merge(delta.status(), delta.delta(), Long::sum);
+        }
+
+        SqlParameterSource[] dailyParameters = dailyDeltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("userId", entry.getKey().userId())
+                        .addValue("day", entry.getKey().day())
+                        .addValue("status", entry.getKey().status().name())
+                        .addValue("delta", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        if (dailyParameters.length > 0) {
+            jdbcTemplate.batchUpdate(UPSERT_DAILY_COUNT, dailyParameters);
+        }
+
+        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+        SqlParameterSource[] statusParameters = statusDeltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("status", entry.getKey().name())
+                        .addValue("slot", slot)
+                        .addValue("delta", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        if (statusParameters.length > 0) {
+            jdbcTemplate.batchUpdate(UPSERT_COUNT, statusParameters);
+        }
+    }
+
+    /**
+     * Returns the number of orders per status, with zero for statuses without orders.
+     *
+     * @param userId only count orders of this user, or {@code null} for all users
+     * @param day    only count orders created on this day, or {@code null} for all days
+     */
+    public Map<Status, Long> countByStatus(Long userId, LocalDate day) {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        if (userId == null && day == null) {
+            jdbcTemplate.query(SUM_COUNTS, resultSet -> {
+                counts.put(Status.valueOf(resultSet.getString("status")), resultSet.getLong("order_count"));
+            });
+            return counts;
+        }
+
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        if (userId != null) {
+            conditions.add("user_id = :userId");
+            parameters.addValue("userId", userId);
+        }
+        if (day != null) {
+            conditions.add("day = :day");
+            parameters.addValue("day", day);
+        }
+        jdbcTemplate.query(SUM_DAILY_COUNTS.formatted(String.join(" AND ", conditions)), parameters, resultSet -> {
+            counts.put(Status.valueOf(resultSet.getString("status")), resultSet.getLong("order_count"));
+        });
+        return counts;
+    }
+
+    private record DailyKey(Long userId, LocalDate day, Status status) {
+    }
+}
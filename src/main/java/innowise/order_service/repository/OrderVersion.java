@@ -0,0 +1,18 @@
+package innowise.order_service.repository;
+
+import innowise.order_service.dto.OrderResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identity and modification time of an order, enough to tell whether a client's copy is current.
+ */
+public record OrderVersion(
+        Long id,
+        LocalDateTime updatedAt
+) {
+
+    public static OrderVersion of(OrderResponseDto orderResponseDto) {
+        return new OrderVersion(orderResponseDto.getId(), orderResponseDto.getUpdatedAt());
+    }
+}
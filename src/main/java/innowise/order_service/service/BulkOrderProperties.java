@@ -0,0 +1,19 @@
+package innowise.order_service.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "bulk-orders")
+public class BulkOrderProperties {
+
+    /**
+     * Maximum number of orders accepted in one bulk request.
+     */
+    private int maxOrders = 10_000;
+
+    /**
+     * Number of orders written per transaction and JDBC batch.
+     */
+    private int chunkSize = 500;
+}
@@ -1,22 +1,85 @@
 package innowise.order_service.service;
 
+import innowise.order_service.cache.ItemCache;
 import innowise.order_service.entity.Item;
+import innowise.order_service.metrics.OrderMetrics;
 import innowise.order_service.repository.ItemRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemService {
     public final ItemRepository itemRepository;
+    public final ItemCache itemCache;
+    public final OrderMetrics orderMetrics;
 
     @Transactional(readOnly = true)
     public Item getItemById(Long id) {
-        return itemRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
+        return itemCache.get(id).orElseGet(() -> {
+            Item item = itemRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
+            itemCache.put(item);
+            return item;
+        });
+    }
+
+    /**
+     * Resolves all given item ids from the item cache, loading the misses with a single query.
+     * Duplicate ids are collapsed, and every id that does not exist is reported in one exception.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Item> getItemsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = toUniqueIds(ids);
+        Map<Long, Item> items = findItemsByIds(uniqueIds);
+
+        List<Long> missingIds = uniqueIds.stream()
+                .filter(id -> !items.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException("Items not found: " + missingIds);
+        }
+        return items;
+    }
+
+    /**
+     * Same lookup as {@link #getItemsByIds(Collection)}, but ids that do not exist are simply
+     * absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Item> findItemsByIds(Collection<Long> ids) {
+        Set<Long> uniqueIds = toUniqueIds(ids);
+        if (uniqueIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Item> items = new HashMap<>(itemCache.getAll(uniqueIds));
+        List<Long> cacheMisses = uniqueIds.stream()
+                .filter(id -> !items.containsKey(id))
+                .toList();
+        orderMetrics.recordItemLookup(uniqueIds.size() - cacheMisses.size(), cacheMisses.size());
+        if (!cacheMisses.isEmpty()) {
+            List<Item> loadedItems = itemRepository.findAllById(cacheMisses);
+            itemCache.putAll(loadedItems);
+            loadedItems.forEach(item -> items.put(item.getId(), item));
+        }
+        return items;
+    }
+
+    private static Set<Long> toUniqueIds(Collection<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 }
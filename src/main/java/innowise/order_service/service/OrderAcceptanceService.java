@@ -0,0 +1,144 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.OrderStatusCountDelta;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settles orders accepted asynchronously: resolves the requested items of a batch of pending
+ * orders at once, prices their lines and moves every order to {@link Status#SUCCESS} or
+ * {@link Status#FAILED}.
+ */
+@Slf4j
+@Service
+public class OrderAcceptanceService {
+
+    public final OrderRepository orderRepository;
+    public final ItemService itemService;
+    public final OrderStatusCountRepository orderStatusCountRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public OrderAcceptanceService(OrderRepository orderRepository,
+                                  ItemService itemService,
+                                  OrderStatusCountRepository orderStatusCountRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.itemService = itemService;
+        this.orderStatusCountRepository = orderStatusCountRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Claims up to {@code batchSize} pending orders and settles them in one transaction. If the
+     * batch fails, its orders are settled one by one in their own transactions, and an order that
+     * fails to settle alone is marked {@link Status#FAILED}, so one bad order neither blocks its
+     * batch nor is claimed again forever.
+     *
+     * @return the number of settled orders
+     */
+    public int processPendingOrders(int batchSize) {
+        List<Long> claimedIds = new ArrayList<>();
+        try {
+            Integer processed = writeTransaction.execute(transactionStatus -> {
+                List<Order> orders = orderRepository.claimPendingOrders(batchSize);
+                orders.forEach(order -> claimedIds.add(order.getId()));
+                settle(orders);
+                return orders.size();
+            });
+            return processed == null ? 0 : processed;
+        } catch (RuntimeException e) {
+            if (claimedIds.isEmpty()) {
+                throw e;
+            }
+            log.warn("Failed to settle a batch of {} orders, settling them one by one", claimedIds.size(), e);
+            claimedIds.forEach(this::settleAlone);
+            return claimedIds.size();
+        }
+    }
+
+    private void settleAlone(Long orderId) {
+        try {
+            writeTransaction.executeWithoutResult(transactionStatus -> orderRepository.claimPendingOrder(orderId)
+                    .ifPresent(order -> settle(List.of(order))));
+        } catch (RuntimeException e) {
+            log.error("Failed to settle order {}", orderId, e);
+            writeTransaction.executeWithoutResult(transactionStatus -> orderRepository.claimPendingOrder(orderId)
+                    .ifPresent(order -> {
+                        OrderStatusCountDelta removed = OrderStatusCountDelta.removed(order);
+                        fail(order, "Settlement failed: " + e);
+                        order.setRequestedItems(null);
+                        orderStatusCountRepository.apply(List.of(removed, OrderStatusCountDelta.added(order)));
+                    }));
+        }
+    }
+
+    private void settle(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Long, Item> items = itemService.findItemsByIds(orders.stream()
+                .flatMap(order -> requestedItems(order).stream())
+                .map(OrderItemRequestDto::getItemId)
+                .toList());
+        List<OrderStatusCountDelta> deltas = new ArrayList<>(orders.size() * 2);
+        for (Order order : orders) {
+            deltas.add(OrderStatusCountDelta.removed(order));
+            settle(order, items);
+            deltas.add(OrderStatusCountDelta.added(order));
+        }
+        orderStatusCountRepository.apply(deltas);
+    }
+
+    private void settle(Order order, Map<Long, Item> items) {
+        List<OrderItemRequestDto> requestedItems = requestedItems(order);
+        List<Long> missingIds = requestedItems.stream()
+                .map(OrderItemRequestDto::getItemId)
+                .filter(itemId -> !items.containsKey(itemId))
+                .distinct()
+                .toList();
+
+        if (requestedItems.isEmpty()) {
+            fail(order, "Order has no items");
+        } else if (!missingIds.isEmpty()) {
+            fail(order, "Items not found: " + missingIds);
+        } else {
+            requestedItems.forEach(requestedItem -> {
+                Item item = items.get(requestedItem.getItemId());
+                order.getOrderItems().add(OrderItem.builder()
+                        .order(order)
+                        .item(item)
+                        .quantity(requestedItem.getQuantity())
+                        .unitPrice(item.getPrice())
+                        .build());
+            });
+            order.recalculateTotals();
+            order.setStatus(Status.SUCCESS);
+        }
+        order.setRequestedItems(null);
+    }
+
+    private static void fail(Order order, String reason) {
+        log.warn("Order {} failed: {}", order.getId(), reason);
+        order.setStatus(Status.FAILED);
+        order.setFailureReason(reason.length() > Order.FAILURE_REASON_LENGTH
+                ? reason.substring(0, Order.FAILURE_REASON_LENGTH - 3) + "..."
+                : reason);
+    }
+
+    private static List<OrderItemRequestDto> requestedItems(Order order) {
+        return order.getRequestedItems() == null ? List.of() : order.getRequestedItems();
+    }
+}
@@ -0,0 +1,194 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.BulkOrderResponseDto;
+import innowise.order_service.dto.BulkOrderResultDto;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.repository.OrderJdbcRepository;
+import innowise.order_service.repository.OrderStatusCountDelta;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many orders per request. Every order is validated on its own, the items of the whole
+ * request are resolved once, and valid orders are written with JDBC batches in chunks, one
+ * transaction per chunk. A failure only affects the orders it belongs to: a chunk that fails to
+ * write is written again order by order, each in its own transaction.
+ */
+@Slf4j
+@Service
+public class OrderBulkService {
+
+    public final OrderJdbcRepository orderJdbcRepository;
+    public final ItemService itemService;
+    public final Validator validator;
+    public final BulkOrderProperties properties;
+    public final OrderStatusCountRepository orderStatusCountRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public OrderBulkService(OrderJdbcRepository orderJdbcRepository,
+                            ItemService itemService,
+                            Validator validator,
+                            BulkOrderProperties properties,
+                            OrderStatusCountRepository orderStatusCountRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.itemService = itemService;
+        this.validator = validator;
+        this.properties = properties;
+        this.orderStatusCountRepository = orderStatusCountRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkOrderResponseDto createOrders(List<OrderRequestDto> orderRequestDtos) {
+        if (orderRequestDtos == null || orderRequestDtos.isEmpty()) {
+            throw new IllegalArgumentException("At least one order is required");
+        }
+        if (orderRequestDtos.size() > properties.getMaxOrders()) {
+            throw new IllegalArgumentException(
+                    String.format("At most %d orders can be created at once", properties.getMaxOrders()));
+        }
+
+        BulkOrderResultDto[] results = new BulkOrderResultDto[orderRequestDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int index = 0; index < orderRequestDtos.size(); index++) {
+            String error = validate(orderRequestDtos.get(index));
+            if (error == null) {
+                validIndexes.add(index);
+            } else {
+                results[index] = failed(index, error);
+            }
+        }
+
+        Map<Long, Item> items = itemService.findItemsByIds(validIndexes.stream()
+                .flatMap(index -> orderRequestDtos.get(index).getOrderItems().stream())
+                .map(OrderItemRequestDto::getItemId)
+                .toList());
+
+        List<Integer> resolvedIndexes = new ArrayList<>();
+        for (Integer index : validIndexes) {
+            List<Long> missingItemIds = orderRequestDtos.get(index).getOrderItems().stream()
+                    .map(OrderItemRequestDto::getItemId)
+                    .filter(itemId -> !items.containsKey(itemId))
+                    .distinct()
+                    .toList();
+            if (missingItemIds.isEmpty()) {
+                resolvedIndexes.add(index);
+            } else {
+                results[index] = failed(index, "Items not found: " + missingItemIds);
+            }
+        }
+
+        for (int from = 0; from < resolvedIndexes.size(); from += properties.getChunkSize()) {
+            List<Integer> chunk = resolvedIndexes.subList(from,
+                    Math.min(from + properties.getChunkSize(), resolvedIndexes.size()));
+            persistChunk(chunk, orderRequestDtos, items, results);
+        }
+
+        List<BulkOrderResultDto> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(BulkOrderResultDto::isCreated).count();
+        return BulkOrderResponseDto.builder()
+                .created(created)
+                .failed(resultList.size() - created)
+                .results(resultList)
+                .build();
+    }
+
+    private void persistChunk(List<Integer> chunk, List<OrderRequestDto> orderRequestDtos,
+                              Map<Long, Item> items, BulkOrderResultDto[] results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = chunk.stream()
+                .map(index -> buildOrder(orderRequestDtos.get(index), items, now))
+                .toList();
+        try {
+            insert(orders);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = created(chunk.get(i), orders.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                log.error("Failed to persist order {}", chunk.get(0), e);
+                results[chunk.get(0)] = failed(chunk.get(0), "Failed to persist order");
+                return;
+            }
+            log.warn("Failed to persist a chunk of {} orders, persisting them one by one", chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                persistChunk(List.of(chunk.get(i)), orderRequestDtos, items, results);
+            }
+        }
+    }
+
+    private void insert(List<Order> orders) {
+        List<OrderItem> orderItems = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .toList();
+        writeTransaction.executeWithoutResult(transactionStatus -> {
+            orderJdbcRepository.insertOrders(orders);
+            orderJdbcRepository.insertOrderItems(orderItems);
+            orderStatusCountRepository.apply(orders.stream().map(OrderStatusCountDelta::added).toList());
+        });
+    }
+
+    private static Order buildOrder(OrderRequestDto orderRequestDto, Map<Long, Item> items, LocalDateTime now) {
+        Order order = Order.builder()
+                .userId(orderRequestDto.getUserId())
+                .status(Status.SUCCESS)
+                .creationDate(now)
+                .updatedAt(now)
+                .orderItems(new ArrayList<>())
+                .build();
+        orderRequestDto.getOrderItems().forEach(orderItem -> {
+            Item item = items.get(orderItem.getItemId());
+            order.getOrderItems().add(OrderItem.builder()
+                    .order(order)
+                    .item(item)
+                    .quantity(orderItem.getQuantity())
+                    .unitPrice(item.getPrice())
+                    .build());
+        });
+        order.recalculateTotals();
+        return order;
+    }
+
+    private String validate(OrderRequestDto orderRequestDto) {
+        if (orderRequestDto == null) {
+            return "Order can't be null";
+        }
+        String violations = validator.validate(orderRequestDto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return violations.isEmpty() ? null : violations;
+    }
+
+    private static BulkOrderResultDto created(int index, Order order) {
+        return BulkOrderResultDto.builder()
+                .index(index)
+                .created(true)
+                .orderId(order.getId())
+                .build();
+    }
+
+    private static BulkOrderResultDto failed(int index, String error) {
+        return BulkOrderResultDto.builder()
+                .index(index)
+                .created(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package innowise.order_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+import innowise.order_service.mapper.OrderMapper;
+import innowise.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    public static final LocalDateTime EARLIEST_CREATION_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public final OrderRepository orderRepository;
+    public final OrderMapper orderMapper;
+    public final ObjectMapper objectMapper;
+    public final EntityManager entityManager;
+
+    /**
+     * Writes every matching order as one JSON line. Orders are read through a forward-only cursor
+     * and detached as soon as they are written, so memory use does not grow with the number of orders.
+     * User details are not resolved for exports.
+     *
+     * @param from inclusive lower bound of the creation date, or {@code null} for no lower bound
+     * @param to   exclusive upper bound of the creation date, or {@code null} for now
+     * @return number of exported orders
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(Status status, LocalDateTime from, LocalDateTime to,
+                             OutputStream outputStream) throws IOException {
+        LocalDateTime rangeStart = from == null ? EARLIEST_CREATION_DATE : from;
+        LocalDateTime rangeEnd = to == null ? LocalDateTime.now() : to;
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<Order> orders = orderRepository.streamByStatusAndCreationDate(status, rangeStart, rangeEnd)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                writer.writeValue(generator, orderMapper.toDto(order));
+                generator.writeRaw('\n');
+                entityManager.detach(order);
+                exported++;
+            }
+        }
+        return exported;
+    }
+}
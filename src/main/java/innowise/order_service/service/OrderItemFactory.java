@@ -0,0 +1,39 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the lines of an order from the requested items, resolving all of them with one item
+ * lookup and snapshotting their current prices.
+ */
+public class OrderItemFactory {
+
+    public final ItemService itemService;
+
+    public OrderItemFactory(ItemService itemService) {
+        this.itemService = itemService;
+    }
+
+    /**
+     * @throws jakarta.persistence.EntityNotFoundException if a requested item does not exist
+     */
+    public List<OrderItem> createOrderItems(Order order, List<OrderItemRequestDto> orderItems) {
+        Map<Long, Item> items = itemService.getItemsByIds(orderItems.stream()
+                .map(OrderItemRequestDto::getItemId)
+                .toList());
+        return orderItems.stream()
+                .map(item -> OrderItem.builder()
+                        .order(order)
+                        .item(items.get(item.getItemId()))
+                        .quantity(item.getQuantity())
+                        .unitPrice(items.get(item.getItemId()).getPrice())
+                        .build())
+                .toList();
+    }
+}
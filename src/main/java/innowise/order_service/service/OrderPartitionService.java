@@ -0,0 +1,87 @@
+package innowise.order_service.service;
+
+import innowise.order_service.partitioning.OrderPartitioningProperties;
+import innowise.order_service.repository.OrderPartition;
+import innowise.order_service.repository.OrderPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code orders} and {@code order_items} ahead of time and
+ * archives the ones that fell out of the retention period.
+ */
+@Slf4j
+@Service
+public class OrderPartitionService {
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    public final OrderPartitionRepository orderPartitionRepository;
+    public final OrderPartitioningProperties properties;
+    private final TransactionTemplate writeTransaction;
+
+    public OrderPartitionService(OrderPartitionRepository orderPartitionRepository,
+                                 OrderPartitioningProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.orderPartitionRepository = orderPartitionRepository;
+        this.properties = properties;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates the missing monthly partitions up to the end of the {@code monthsAhead}-th month after
+     * the month of {@code today}, and archives the partitions that ended before the retention period.
+     *
+     * @return {@code false} if another instance is maintaining the partitions at the same time
+     */
+    public boolean maintainPartitions(LocalDate today) {
+        Boolean maintained = writeTransaction.execute(transactionStatus -> {
+            if (!orderPartitionRepository.tryLockMaintenance()) {
+                return false;
+            }
+            List<OrderPartition> partitions = orderPartitionRepository.findPartitions();
+            createMissingPartitions(partitions, today);
+            archiveExpiredPartitions(partitions, today);
+            return true;
+        });
+        return Boolean.TRUE.equals(maintained);
+    }
+
+    private void createMissingPartitions(List<OrderPartition> partitions, LocalDate today) {
+        LocalDateTime from = partitions.isEmpty()
+                ? today.withDayOfMonth(1).atStartOfDay()
+                : partitions.getLast().to();
+        if (from == null) {
+            return;
+        }
+        LocalDateTime end = today.withDayOfMonth(1).plusMonths(properties.getMonthsAhead() + 1L).atStartOfDay();
+        while (from.isBefore(end)) {
+            LocalDateTime to = from.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+            OrderPartition partition = new OrderPartition(SUFFIX_FORMAT.format(from), from, to);
+            orderPartitionRepository.createPartition(partition);
+            log.info("Created partitions {} and {}", partition.ordersTable(), partition.orderItemsTable());
+            from = to;
+        }
+    }
+
+    private void archiveExpiredPartitions(List<OrderPartition> partitions, LocalDate today) {
+        if (properties.getRetention() == null) {
+            return;
+        }
+        LocalDateTime cutoff = today.withDayOfMonth(1).minus(properties.getRetention()).atStartOfDay();
+        boolean drop = properties.getArchiveMode() == OrderPartitioningProperties.ArchiveMode.DROP;
+        for (OrderPartition partition : partitions) {
+            if (partition.to() != null && !partition.to().isAfter(cutoff)) {
+                orderPartitionRepository.archivePartition(partition, drop);
+                log.info("Archived partitions {} and {}", partition.ordersTable(), partition.orderItemsTable());
+            }
+        }
+    }
+}
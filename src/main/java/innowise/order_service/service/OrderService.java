@@ -1,111 +1,380 @@
 package innowise.order_service.service;
 
-import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.datasource.ReadYourWritesTracker;
+import innowise.order_service.dto.OrderHistoryDto;
+import innowise.order_service.dto.OrderHistoryEntryDto;
+import innowise.order_service.dto.OrderItemPatchDto;
 import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderItemResponseDto;
 import innowise.order_service.dto.OrderRequestDto;
 import innowise.order_service.dto.OrderResponseDto;
 import innowise.order_service.dto.Status;
 import innowise.order_service.dto.UpdateOrderDto;
+import innowise.order_service.dto.client.UserDto;
+import innowise.order_service.entity.Item;
 import innowise.order_service.entity.Order;
 import innowise.order_service.entity.OrderItem;
 import innowise.order_service.mapper.OrderMapper;
+import innowise.order_service.pagination.CursorPage;
+import innowise.order_service.pagination.PageToken;
+import innowise.order_service.pagination.PaginationProperties;
+import innowise.order_service.repository.OrderReadRepository;
 import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.OrderStatusCountDelta;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import innowise.order_service.repository.OrderVersion;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Database work runs in short transactions that are committed before user-service is called,
+ * so a slow user-service never keeps a pooled connection busy. Reads are served by
+ * {@link OrderReadRepository}; managed entities are loaded only to be changed.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
     public final OrderRepository orderRepository;
+    public final OrderReadRepository orderReadRepository;
     public final OrderMapper orderMapper;
-    public final UserServiceClient userServiceClient;
+    public final UserInfoService userInfoService;
     public final ItemService itemService;
+    public final PaginationProperties paginationProperties;
+    public final ReadYourWritesTracker readYourWritesTracker;
+    public final OrderStatusCountRepository orderStatusCountRepository;
+    private final OrderItemFactory orderItemFactory;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+
+    public OrderService(OrderRepository orderRepository,
+                        OrderReadRepository orderReadRepository,
+                        OrderMapper orderMapper,
+                        UserInfoService userInfoService,
+                        ItemService itemService,
+                        PaginationProperties paginationProperties,
+                        ReadYourWritesTracker readYourWritesTracker,
+                        OrderStatusCountRepository orderStatusCountRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderReadRepository = orderReadRepository;
+        this.orderMapper = orderMapper;
+        this.userInfoService = userInfoService;
+        this.itemService = itemService;
+        this.paginationProperties = paginationProperties;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.orderStatusCountRepository = orderStatusCountRepository;
+        this.orderItemFactory = new OrderItemFactory(itemService);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
 
-    @Transactional
     public OrderResponseDto createOrder(OrderRequestDto orderRequestDto) {
-        Order order = orderMapper.toEntity(orderRequestDto);
-        order.setOrderItems(getOrderItems(order, orderRequestDto.getOrderItems()));
-        order.setStatus(Status.SUCCESS);
-        Order updatedOrder = orderRepository.save(order);
-        return addUserInfoToOrderResponse(orderMapper.toDto(updatedOrder));
+        OrderResponseDto orderResponseDto = writeTransaction.execute(transactionStatus -> {
+            Order order = orderMapper.toEntity(orderRequestDto);
+            order.setOrderItems(orderItemFactory.createOrderItems(order, orderRequestDto.getOrderItems()));
+            order.recalculateTotals();
+            order.setStatus(Status.SUCCESS);
+            Order updatedOrder = orderRepository.save(order);
+            orderStatusCountRepository.apply(List.of(OrderStatusCountDelta.added(updatedOrder)));
+            return orderMapper.toDto(updatedOrder);
+        });
+        readYourWritesTracker.recordWrite(orderResponseDto.getId());
+        return addUserInfoToOrderResponse(orderResponseDto);
+    }
+
+    /**
+     * Stores the order as {@link Status#PENDING} with its requested lines and returns at once.
+     * Items are resolved later by {@link OrderAcceptanceService}, which moves the order to
+     * {@link Status#SUCCESS} or {@link Status#FAILED}.
+     */
+    public OrderResponseDto acceptOrder(OrderRequestDto orderRequestDto) {
+        OrderResponseDto orderResponseDto = writeTransaction.execute(transactionStatus -> {
+            Order order = orderMapper.toEntity(orderRequestDto);
+            order.setRequestedItems(orderRequestDto.getOrderItems());
+            order.setOrderItems(new ArrayList<>());
+            order.setStatus(Status.PENDING);
+            Order savedOrder = orderRepository.save(order);
+            orderStatusCountRepository.apply(List.of(OrderStatusCountDelta.added(savedOrder)));
+            return orderMapper.toDto(savedOrder);
+        });
+        orderResponseDto.setOrderItems(orderRequestDto.getOrderItems().stream()
+                .map(orderItem -> OrderItemResponseDto.builder()
+                        .itemId(orderItem.getItemId())
+                        .quantity(orderItem.getQuantity())
+                        .build())
+                .toList());
+        readYourWritesTracker.recordWrite(orderResponseDto.getId());
+        return orderResponseDto;
     }
 
-    @Transactional(readOnly = true)
     public OrderResponseDto getOrderById(Long id) {
-        OrderResponseDto orderResponseDto = orderRepository.findById(id)
-                .map(orderMapper::toDto)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("There is no order with id %d", id)));
+        OrderResponseDto orderResponseDto = readTransactionFor(List.of(id)).execute(transactionStatus ->
+                orderReadRepository.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException(
+                                String.format("There is no order with id %d", id))));
         return addUserInfoToOrderResponse(orderResponseDto);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Returns the versions of the existing orders among the given ids without loading the orders.
+     */
+    public List<OrderVersion> getOrderVersions(List<Long> orderIds) {
+        return readTransactionFor(orderIds).execute(transactionStatus ->
+                orderReadRepository.findVersionsById(orderIds));
+    }
+
     public List<OrderResponseDto> getOrdersByIds(List<Long> orderIds) {
-        return orderRepository.findAllById(orderIds).stream()
-                .map(orderMapper::toDto)
-                .map(this::addUserInfoToOrderResponse)
-                .toList();
+        List<OrderResponseDto> orderResponseDtos = readTransactionFor(orderIds).execute(transactionStatus ->
+                orderReadRepository.findAllById(orderIds));
+        return addUserInfoToOrderResponses(orderResponseDtos);
+    }
+
+    /**
+     * Returns the orders with the given status in ascending id order, one keyset page at a time.
+     */
+    public CursorPage<OrderResponseDto> getOrdersByStatus(Status status, LocalDateTime from, LocalDateTime to,
+                                                          String pageToken, Integer size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = paginationProperties.resolvePageSize(size);
+        String scope = from == null && to == null ? "status:" + status : "status:" + status + ":" + from + ":" + to;
+        long afterId = pageToken == null ? 0L : parseId(PageToken.decode(pageToken, scope, 1).get(0));
+
+        List<OrderResponseDto> orderResponseDtos = readTransaction.execute(transactionStatus ->
+                orderReadRepository.findByStatusAfterId(status, from, to, afterId, pageSize + 1));
+
+        String nextPageToken = null;
+        if (orderResponseDtos.size() > pageSize) {
+            orderResponseDtos = orderResponseDtos.subList(0, pageSize);
+            nextPageToken = PageToken.encode(scope, orderResponseDtos.get(pageSize - 1).getId());
+        }
+        return new CursorPage<>(addUserInfoToOrderResponses(orderResponseDtos), nextPageToken);
     }
 
-    @Transactional(readOnly = true)
-    public List<OrderResponseDto> getOrdersByStatus(Status status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(orderMapper::toDto)
-                .map(this::addUserInfoToOrderResponse)
-                .toList();
+    /**
+     * Returns the user's orders newest first, one keyset page at a time. The page is read from the
+     * covering history index and user-service is called once per page, not once per order.
+     */
+    public OrderHistoryDto getOrderHistory(Long userId, Status status, LocalDateTime from, LocalDateTime to,
+                                           String pageToken, Integer size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = paginationProperties.resolvePageSize(size);
+        String scope = "user:" + userId + ":" + status + ":" + from + ":" + to;
+        List<String> position = pageToken == null ? null : PageToken.decode(pageToken, scope, 2);
+        LocalDateTime beforeCreationDate = position == null ? null : parseCreationDate(position.get(0));
+        Long beforeId = position == null ? null : parseId(position.get(1));
+
+        List<OrderHistoryEntryDto> orders = readTransaction.execute(transactionStatus ->
+                orderReadRepository.findHistoryByUserId(userId, status, from, to, beforeCreationDate, beforeId,
+                        pageSize + 1));
+
+        String nextPageToken = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderHistoryEntryDto last = orders.get(pageSize - 1);
+            nextPageToken = PageToken.encode(scope, last.getCreationDate(), last.getId());
+        }
+        return OrderHistoryDto.builder()
+                .userId(userId)
+                .user(orders.isEmpty() ? null : findUserQuietly(userId))
+                .orders(orders)
+                .nextPageToken(nextPageToken)
+                .build();
     }
 
-    @Transactional
+    /**
+     * Replaces the lines of the order with the requested ones. Only the difference is written:
+     * changed quantities are updated in place, and only new and removed lines are inserted and deleted.
+     * Kept lines keep their price snapshot; new lines are priced at the current catalog price.
+     */
     public OrderResponseDto updateOrderById(UpdateOrderDto updateOrderDto, Long id) {
-        Order existingOrder = orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("There is no order with id %d", id)));
+        if (updateOrderDto.getOrderItems() == null || updateOrderDto.getOrderItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        Map<Long, Integer> quantities = updateOrderDto.getOrderItems().stream()
+                .collect(Collectors.toMap(OrderItemRequestDto::getItemId, OrderItemRequestDto::getQuantity,
+                        Integer::sum, LinkedHashMap::new));
+
+        OrderResponseDto orderResponseDto = writeTransaction.execute(transactionStatus -> {
+            Order existingOrder = findSettledOrder(id);
+            List<OrderItem> orderItems = existingOrder.getOrderItems();
 
-        existingOrder.getOrderItems().clear();
-        List<OrderItem> newOrderItems = getOrderItems(existingOrder, updateOrderDto.getOrderItems());
-        existingOrder.getOrderItems().addAll(newOrderItems);
-        existingOrder.setStatus(Status.SUCCESS);
-        Order updatedOrder = orderRepository.save(existingOrder);
-        return addUserInfoToOrderResponse(orderMapper.toDto(updatedOrder));
+            Set<Long> keptItemIds = new HashSet<>();
+            Iterator<OrderItem> iterator = orderItems.iterator();
+            while (iterator.hasNext()) {
+                OrderItem orderItem = iterator.next();
+                Long itemId = orderItem.getItem().getId();
+                Integer quantity = quantities.get(itemId);
+                if (quantity == null || !keptItemIds.add(itemId)) {
+                    iterator.remove();
+                } else if (!quantity.equals(orderItem.getQuantity())) {
+                    orderItem.setQuantity(quantity);
+                }
+            }
+
+            List<OrderItemRequestDto> newOrderItems = quantities.entrySet().stream()
+                    .filter(entry -> !keptItemIds.contains(entry.getKey()))
+                    .map(entry -> new OrderItemRequestDto(entry.getKey(), entry.getValue()))
+                    .toList();
+            if (!newOrderItems.isEmpty()) {
+                orderItems.addAll(orderItemFactory.createOrderItems(existingOrder, newOrderItems));
+            }
+            existingOrder.recalculateTotals();
+            existingOrder.touch();
+            changeStatus(existingOrder, Status.SUCCESS);
+            Order updatedOrder = orderRepository.save(existingOrder);
+            return orderMapper.toDto(updatedOrder);
+        });
+        readYourWritesTracker.recordWrite(orderResponseDto.getId());
+        return addUserInfoToOrderResponse(orderResponseDto);
     }
 
-    @Transactional
-    public void deleteOrderById(Long id) {
-        validateOrderId(id);
-        orderRepository.deleteById(id);
+    /**
+     * Sets the quantity of a single line, adding the line when the order does not contain the item yet.
+     * A quantity of zero removes the line.
+     */
+    public OrderResponseDto updateOrderItem(Long id, Long itemId, OrderItemPatchDto orderItemPatchDto) {
+        int quantity = orderItemPatchDto.getQuantity();
+
+        OrderResponseDto orderResponseDto = writeTransaction.execute(transactionStatus -> {
+            Order existingOrder = findSettledOrder(id);
+            List<OrderItem> orderItems = existingOrder.getOrderItems();
+            List<OrderItem> matchingItems = orderItems.stream()
+                    .filter(orderItem -> itemId.equals(orderItem.getItem().getId()))
+                    .toList();
+
+            if (quantity == 0) {
+                if (!matchingItems.isEmpty() && matchingItems.size() == orderItems.size()) {
+                    throw new IllegalArgumentException("Order must contain at least one item");
+                }
+                orderItems.removeIf(orderItem -> itemId.equals(orderItem.getItem().getId()));
+            } else if (matchingItems.isEmpty()) {
+                Item item = itemService.getItemById(itemId);
+                orderItems.add(OrderItem.builder()
+                        .order(existingOrder)
+                        .item(item)
+                        .quantity(quantity)
+                        .unitPrice(item.getPrice())
+                        .build());
+            } else {
+                matchingItems.get(0).setQuantity(quantity);
+                orderItems.removeIf(orderItem -> orderItem != matchingItems.get(0)
+                        && itemId.equals(orderItem.getItem().getId()));
+            }
+            existingOrder.recalculateTotals();
+            existingOrder.touch();
+            changeStatus(existingOrder, Status.SUCCESS);
+            Order updatedOrder = orderRepository.save(existingOrder);
+            return orderMapper.toDto(updatedOrder);
+        });
+        readYourWritesTracker.recordWrite(orderResponseDto.getId());
+        return addUserInfoToOrderResponse(orderResponseDto);
     }
 
-    private void validateOrderId(Long id) {
+    @Transactional
+    public void deleteOrderById(Long id) {
         if (id == null) {
             throw new RuntimeException("ID can't be null");
         }
-        if (!orderRepository.existsById(id)) {
-            throw new EntityNotFoundException(String.format("There is no order with id %d", id));
+        Order order = findOrder(id);
+        orderRepository.delete(order);
+        orderStatusCountRepository.apply(List.of(OrderStatusCountDelta.removed(order)));
+    }
 
+    /**
+     * Read-only transactions may be served by a replica. Orders this instance has just written are
+     * read in a read-write transaction instead, which always goes to the primary.
+     */
+    private TransactionTemplate readTransactionFor(Collection<Long> orderIds) {
+        return readYourWritesTracker.isRecentlyWritten(orderIds) ? writeTransaction : readTransaction;
+    }
+
+    /**
+     * Moves the order to the given status and updates the status counters accordingly.
+     */
+    private void changeStatus(Order order, Status status) {
+        if (order.getStatus() == status) {
+            return;
         }
+        OrderStatusCountDelta removed = OrderStatusCountDelta.removed(order);
+        order.setStatus(status);
+        orderStatusCountRepository.apply(List.of(removed, OrderStatusCountDelta.added(order)));
     }
 
-    protected List<OrderItem> getOrderItems(Order order, List<OrderItemRequestDto> orderItems) {
-        return orderItems.stream()
-                .map(item -> OrderItem.builder()
-                        .order(order)
-                        .item(itemService.getItemById(item.getItemId()))
-                        .quantity(item.getQuantity())
-                        .build())
-                .toList();
+    private Order findOrder(Long id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("There is no order with id %d", id)));
+    }
+
+    /**
+     * Orders accepted asynchronously belong to the acceptance workers until they are settled.
+     */
+    private Order findSettledOrder(Long id) {
+        Order order = findOrder(id);
+        if (order.getStatus() == Status.PENDING && order.getRequestedItems() != null) {
+            throw new IllegalArgumentException(String.format("Order %d is still being processed", id));
+        }
+        return order;
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+    }
+
+    private static LocalDateTime parseCreationDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
     }
 
     protected OrderResponseDto addUserInfoToOrderResponse(OrderResponseDto orderResponseDto) {
+        orderResponseDto.setUser(findUserQuietly(orderResponseDto.getUserId()));
+        return orderResponseDto;
+    }
+
+    private UserDto findUserQuietly(Long userId) {
         try {
-            orderResponseDto.setUser(userServiceClient.getUserById(orderResponseDto.getUserId()));
+            return userInfoService.getUserById(userId);
         } catch (Exception e) {
-            log.warn("Failed to fetch user info for userId: {}", orderResponseDto.getUserId(), e);
+            log.warn("Failed to fetch user info for userId: {}", userId, e);
+            return null;
         }
-        return orderResponseDto;
+    }
+
+    protected List<OrderResponseDto> addUserInfoToOrderResponses(List<OrderResponseDto> orderResponseDtos) {
+        Map<Long, UserDto> users = userInfoService.getUsersByIds(orderResponseDtos.stream()
+                .map(OrderResponseDto::getUserId)
+                .toList());
+        orderResponseDtos.stream()
+                .filter(orderResponseDto -> orderResponseDto.getUserId() != null)
+                .forEach(orderResponseDto -> orderResponseDto.setUser(users.get(orderResponseDto.getUserId())));
+        return orderResponseDtos;
     }
 }
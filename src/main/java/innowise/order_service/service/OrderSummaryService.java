@@ -0,0 +1,32 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.OrderStatusSummaryDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Serves order counts from the counters kept by the write paths, never from {@code orders} itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryService {
+
+    public final OrderStatusCountRepository orderStatusCountRepository;
+
+    @Transactional(readOnly = true)
+    public OrderStatusSummaryDto getStatusSummary(Long userId, LocalDate day) {
+        Map<Status, Long> counts = orderStatusCountRepository.countByStatus(userId, day);
+        return OrderStatusSummaryDto.builder()
+                .userId(userId)
+                .day(day)
+                .counts(counts)
+                .total(counts.values().stream().mapToLong(Long::longValue).sum())
+                .build();
+    }
+}
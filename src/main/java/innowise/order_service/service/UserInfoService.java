@@ -0,0 +1,209 @@
+package innowise.order_service.service;
+
+import feign.FeignException;
+import innowise.order_service.client.UserLookupProperties;
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.client.UserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class UserInfoService {
+
+    public final UserServiceClient userServiceClient;
+    private final UserLookupProperties properties;
+    private final Executor userLookupExecutor;
+    private final Semaphore lookupPermits;
+
+    private volatile Instant batchUnsupportedUntil = Instant.MIN;
+
+    public UserInfoService(UserServiceClient userServiceClient,
+                           UserLookupProperties properties,
+                           @Qualifier("userLookupExecutor") Executor userLookupExecutor,
+                           @Qualifier("userLookupPermits") Semaphore lookupPermits) {
+        this.userServiceClient = userServiceClient;
+        this.properties = properties;
+        this.userLookupExecutor = userLookupExecutor;
+        this.lookupPermits = lookupPermits;
+    }
+
+    public UserDto getUserById(Long id) {
+        return userServiceClient.getUserById(id);
+    }
+
+    /**
+     * Resolves the distinct user ids through the batch endpoint of user-service, falling back to
+     * single lookups when it has none. Calls are fanned out on the user lookup executor and the
+     * whole lookup, including the wait for a free lookup permit, is bounded by the configured
+     * deadline. Users that could not be fetched in time are absent from the result.
+     */
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> userIds) {
+        Set<Long> uniqueIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (uniqueIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Instant deadline = Instant.now().plus(properties.getDeadline());
+        Map<Long, UserDto> users = new HashMap<>();
+        List<Long> unresolvedIds = new ArrayList<>(uniqueIds);
+        if (Instant.now().isAfter(batchUnsupportedUntil)) {
+            unresolvedIds = getUsersInBatches(unresolvedIds, users, deadline);
+        }
+        if (!unresolvedIds.isEmpty()) {
+            getUsersOneByOne(unresolvedIds, users, deadline);
+        }
+        return users;
+    }
+
+    /**
+     * Users of batches that fail for any other reason than a missing batch endpoint stay unresolved,
+     * so a struggling user-service is not hit with one call per user on top of the failed batch.
+     *
+     * @return ids of the batches that user-service has no batch endpoint for and should be looked up one by one
+     */
+    private List<Long> getUsersInBatches(List<Long> userIds, Map<Long, UserDto> users, Instant deadline) {
+        Map<List<Long>, Future<List<UserDto>>> futures = new LinkedHashMap<>();
+        for (int from = 0; from < userIds.size(); from += properties.getBatchSize()) {
+            List<Long> batch = userIds.subList(from, Math.min(from + properties.getBatchSize(), userIds.size()));
+            futures.put(batch, submitBefore(() -> userServiceClient.getUsersByIds(batch), deadline));
+        }
+
+        List<Long> failedIds = new ArrayList<>();
+        futures.forEach((batch, future) -> {
+            try {
+                List<UserDto> batchUsers = future == null ? null : awaitUntil(future, deadline);
+                if (batchUsers == null) {
+                    log.warn("Batch user lookup for {} users missed the deadline", batch.size());
+                    return;
+                }
+                batchUsers.stream()
+                        .filter(user -> user != null && batch.contains(user.id()))
+                        .forEach(user -> users.put(user.id(), user));
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof FeignException.NotFound
+                        || e.getCause() instanceof FeignException.MethodNotAllowed) {
+                    batchUnsupportedUntil = Instant.now().plus(properties.getBatchRetryInterval());
+                    log.warn("User service has no batch endpoint, using single lookups until {}",
+                            batchUnsupportedUntil);
+                    failedIds.addAll(batch);
+                } else {
+                    log.warn("Batch user lookup failed for {} users", batch.size(), e.getCause());
+                }
+            }
+        });
+        return failedIds;
+    }
+
+    private void getUsersOneByOne(List<Long> userIds, Map<Long, UserDto> users, Instant deadline) {
+        Map<Long, Future<UserDto>> futures = new LinkedHashMap<>();
+        userIds.forEach(id -> futures.put(id, submitBefore(() -> fetchUserQuietly(id), deadline)));
+
+        int timedOut = 0;
+        for (Map.Entry<Long, Future<UserDto>> entry : futures.entrySet()) {
+            try {
+                Future<UserDto> future = entry.getValue();
+                UserDto user = future == null ? null : awaitUntil(future, deadline);
+                if (user != null) {
+                    users.put(entry.getKey(), user);
+                } else if (future == null || future.isCancelled()) {
+                    timedOut++;
+                }
+            } catch (ExecutionException e) {
+                log.warn("Failed to fetch user info for userId: {}", entry.getKey(), e.getCause());
+            }
+        }
+        if (timedOut > 0) {
+            log.warn("{} of {} user lookups missed the deadline", timedOut, userIds.size());
+        }
+    }
+
+    private UserDto fetchUserQuietly(Long id) {
+        try {
+            return userServiceClient.getUserById(id);
+        } catch (Exception e) {
+            log.warn("Failed to fetch user info for userId: {}", id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Runs the call on the user lookup executor once a lookup permit is free. The caller waits for a
+     * permit no longer than until the deadline, so a saturated user-service cannot hold a request past it.
+     * The permit is returned when the call completes or is cancelled.
+     *
+     * @return the submitted call, or {@code null} if no permit became free before the deadline
+     */
+    private <T> Future<T> submitBefore(Callable<T> call, Instant deadline) {
+        try {
+            if (!lookupPermits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        FutureTask<T> task = new FutureTask<>(call) {
+            @Override
+            protected void done() {
+                lookupPermits.release();
+            }
+        };
+        try {
+            userLookupExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            log.warn("User lookup executor rejected a lookup", e);
+            return null;
+        }
+        return task;
+    }
+
+    /**
+     * Waits for the future until the deadline. A future that is not done in time is cancelled and
+     * {@code null} is returned. Cancelling interrupts the worker thread: on a virtual thread this aborts
+     * the blocked Feign call, on a platform thread the call runs on until the client read timeout and
+     * its result is dropped.
+     */
+    private static <T> T awaitUntil(Future<T> future, Instant deadline) throws ExecutionException {
+        try {
+            return future.get(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        }
+    }
+
+    private static long remainingMillis(Instant deadline) {
+        return Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_orders_status_id ON orders(status, id);
@@ -0,0 +1,19 @@
+CREATE SEQUENCE items_seq INCREMENT BY 50;
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq INCREMENT BY 50;
+
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 50, false);
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+SELECT setval('order_items_seq', COALESCE((SELECT MAX(id) FROM order_items), 0) + 50, false);
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_seq');
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_seq');
+
+ALTER SEQUENCE items_seq OWNED BY items.id;
+ALTER SEQUENCE orders_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_seq OWNED BY order_items.id;
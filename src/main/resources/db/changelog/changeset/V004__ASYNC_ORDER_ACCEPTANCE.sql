@@ -0,0 +1,4 @@
+ALTER TABLE orders ADD COLUMN requested_items jsonb;
+ALTER TABLE orders ADD COLUMN failure_reason varchar(255);
+
+CREATE INDEX idx_orders_pending_id ON orders(id) WHERE status = 'PENDING';
@@ -0,0 +1,19 @@
+ALTER TABLE order_items ADD COLUMN unit_price decimal(10,2);
+
+UPDATE order_items oi
+SET unit_price = i.price
+FROM items i
+WHERE i.id = oi.item_id;
+
+ALTER TABLE order_items ALTER COLUMN unit_price SET NOT NULL;
+
+ALTER TABLE orders ADD COLUMN total_amount decimal(12,2) NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN line_count integer NOT NULL DEFAULT 0;
+
+UPDATE orders o
+SET total_amount = totals.total_amount,
+    line_count = totals.line_count
+FROM (SELECT order_id, SUM(unit_price * quantity) AS total_amount, COUNT(*) AS line_count
+      FROM order_items
+      GROUP BY order_id) totals
+WHERE totals.order_id = o.id;
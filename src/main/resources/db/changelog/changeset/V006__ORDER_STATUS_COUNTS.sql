@@ -0,0 +1,28 @@
+CREATE TABLE order_status_daily_counts (
+    user_id bigint NOT NULL,
+    day date NOT NULL,
+    status varchar(64) NOT NULL,
+    order_count bigint NOT NULL,
+
+    PRIMARY KEY (user_id, day, status)
+);
+
+CREATE INDEX idx_order_status_daily_counts_day ON order_status_daily_counts(day);
+
+CREATE TABLE order_status_counts (
+    status varchar(64) NOT NULL,
+    slot smallint NOT NULL,
+    order_count bigint NOT NULL,
+
+    PRIMARY KEY (status, slot)
+);
+
+INSERT INTO order_status_daily_counts (user_id, day, status, order_count)
+SELECT user_id, CAST(creation_date AS date), status, COUNT(*)
+FROM orders
+GROUP BY user_id, CAST(creation_date AS date), status;
+
+INSERT INTO order_status_counts (status, slot, order_count)
+SELECT status, 0, COUNT(*)
+FROM orders
+GROUP BY status;
@@ -0,0 +1,67 @@
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+ALTER INDEX order_items_pkey RENAME TO order_items_unpartitioned_pkey;
+ALTER INDEX orders_pkey RENAME TO orders_unpartitioned_pkey;
+DROP INDEX idx_orders_status_id;
+DROP INDEX idx_orders_pending_id;
+
+ALTER SEQUENCE orders_seq OWNED BY NONE;
+ALTER SEQUENCE order_items_seq OWNED BY NONE;
+
+CREATE TABLE orders (
+    id bigint NOT NULL DEFAULT nextval('orders_seq'),
+    user_id bigint NOT NULL,
+    status varchar(64) NOT NULL,
+    creation_date timestamp NOT NULL,
+    updated_at timestamp NOT NULL,
+    requested_items jsonb,
+    failure_reason varchar(255),
+    total_amount decimal(12,2) NOT NULL DEFAULT 0,
+    line_count integer NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (id, creation_date)
+) PARTITION BY RANGE (creation_date);
+
+CREATE TABLE order_items (
+    id bigint NOT NULL DEFAULT nextval('order_items_seq'),
+    order_id bigint NOT NULL,
+    order_creation_date timestamp NOT NULL,
+    item_id bigint NOT NULL,
+    quantity integer NOT NULL,
+    unit_price decimal(10,2) NOT NULL,
+
+    PRIMARY KEY (id, order_creation_date),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id, order_creation_date)
+        REFERENCES orders(id, creation_date) ON DELETE CASCADE,
+    CONSTRAINT fk_order_items_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE RESTRICT
+) PARTITION BY RANGE (order_creation_date);
+
+-- Existing orders and the next three months share one partition; monthly partitions after it
+-- are created by OrderPartitionMaintenance.
+CREATE TABLE orders_history PARTITION OF orders
+    FOR VALUES FROM (MINVALUE) TO (date_trunc('month', LOCALTIMESTAMP) + interval '3 months');
+CREATE TABLE order_items_history PARTITION OF order_items
+    FOR VALUES FROM (MINVALUE) TO (date_trunc('month', LOCALTIMESTAMP) + interval '3 months');
+
+CREATE INDEX idx_orders_status_id ON orders(status, id);
+CREATE INDEX idx_orders_pending_id ON orders(id) WHERE status = 'PENDING';
+CREATE INDEX idx_order_items_order ON order_items(order_id, order_creation_date);
+
+INSERT INTO orders (id, user_id, status, creation_date, updated_at, requested_items, failure_reason,
+                    total_amount, line_count)
+SELECT id, user_id, status, creation_date, updated_at, requested_items, failure_reason, total_amount, line_count
+FROM orders_unpartitioned;
+
+INSERT INTO order_items (id, order_id, order_creation_date, item_id, quantity, unit_price)
+SELECT oi.id, oi.order_id, o.creation_date, oi.item_id, oi.quantity, oi.unit_price
+FROM order_items_unpartitioned oi
+JOIN orders_unpartitioned o ON o.id = oi.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+ALTER SEQUENCE orders_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_seq OWNED BY order_items.id;
+
+CREATE SCHEMA order_archive;
@@ -0,0 +1,7 @@
+-- Orders stored as pending before asynchronous acceptance have no requested items and are never
+-- claimed, so they are left out of the index the workers scan.
+DROP INDEX idx_orders_pending_id;
+CREATE INDEX idx_orders_awaiting_acceptance_id ON orders(id) WHERE status = 'PENDING' AND requested_items IS NOT NULL;
+
+-- Status exports filter on a creation date range, which (status, id) cannot narrow within a partition.
+CREATE INDEX idx_orders_status_creation_date ON orders(status, creation_date);
@@ -0,0 +1,4 @@
+-- Serves a user's order history newest first. Every column of the history projection is in the
+-- index, so pages are read with index-only scans.
+CREATE INDEX idx_orders_user_creation_date ON orders(user_id, creation_date DESC, id DESC)
+    INCLUDE (status, total_amount, line_count, failure_reason);
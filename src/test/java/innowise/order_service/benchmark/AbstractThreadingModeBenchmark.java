@@ -0,0 +1,156 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.controller.BaseIT;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+import innowise.order_service.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a fixed number of concurrent clients against the running application while user-service
+ * answers with a fixed delay, and records the achieved throughput in {@code build/benchmarks}.
+ * Subclasses select the threading mode; run them with {@code ./gradlew benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=50",
+        "logging.level.innowise.order_service=error"
+})
+abstract class AbstractThreadingModeBenchmark extends BaseIT {
+
+    static final Duration USER_SERVICE_LATENCY = Duration.ofMillis(100);
+    static final int CONCURRENT_CLIENTS = 200;
+    static final int ORDERS_PER_LIST = 20;
+    static final Duration WARMUP = Duration.ofSeconds(5);
+    static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    static final Path RESULTS = Path.of("build", "benchmarks", "threading-mode.txt");
+
+    static final UserServiceStub USER_SERVICE = UserServiceStub.start(USER_SERVICE_LATENCY);
+
+    @DynamicPropertySource
+    static void userServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("user-service.host", USER_SERVICE::getHost);
+        registry.add("user-service.port", USER_SERVICE::getPort);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    protected abstract String mode();
+
+    @Test
+    void getOrderByIdThroughput() throws Exception {
+        Long orderId = saveOrder(1L).getId();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/orders/" + orderId))
+                .GET()
+                .build();
+
+        measure("GET /orders/{id}", request);
+    }
+
+    @Test
+    void getOrdersByIdsThroughput() throws Exception {
+        List<Long> orderIds = new ArrayList<>();
+        LongStream.rangeClosed(1, ORDERS_PER_LIST).forEach(userId -> orderIds.add(saveOrder(userId).getId()));
+        String query = orderIds.stream()
+                .map(id -> "orderIds=" + id)
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/orders/list?" + query))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+        measure("POST /orders/list (" + ORDERS_PER_LIST + " users)", request);
+    }
+
+    private void measure(String endpoint, HttpRequest request) throws Exception {
+        runLoad(request, WARMUP);
+        LoadResult result = runLoad(request, MEASUREMENT);
+
+        String line = String.format(
+                "%-8s %-32s clients=%d latency=%dms completed=%d failed=%d throughput=%.1f req/s%n",
+                mode(), endpoint, CONCURRENT_CLIENTS, USER_SERVICE_LATENCY.toMillis(),
+                result.completed(), result.failed(), result.throughput());
+        log.warn(line.trim());
+        Files.createDirectories(RESULTS.getParent());
+        Files.writeString(RESULTS, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        assertThat(result.completed()).isPositive();
+    }
+
+    private LoadResult runLoad(HttpRequest request, Duration duration) {
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Instant end = Instant.now().plus(duration);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (Instant.now().isBefore(end)) {
+                        try {
+                            HttpResponse<Void> response =
+                                    httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() == 200 ? completed : failed).increment();
+                        } catch (IOException e) {
+                            failed.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        return new LoadResult(completed.sum(), failed.sum(), completed.sum() / (double) duration.toSeconds());
+    }
+
+    private Order saveOrder(Long userId) {
+        return orderRepository.save(Order.builder()
+                .userId(userId)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build());
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private record LoadResult(long completed, long failed, double throughput) {
+    }
+}
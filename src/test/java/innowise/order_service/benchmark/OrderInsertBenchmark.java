@@ -0,0 +1,170 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.controller.BaseIT;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.metrics.JdbcStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saves orders of different sizes through Hibernate with and without JDBC batching and records
+ * the prepared statement count and latency in {@code build/benchmarks}. As the baseline that pooled
+ * sequences replace, orders are also inserted into tables with identity ids, one row per statement
+ * as each insert has to return its id. The baseline uses plain JDBC, so no application context
+ * maps its tables. Run with {@code ./gradlew benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.innowise.order_service=error"
+})
+class OrderInsertBenchmark extends BaseIT {
+
+    static final int WARMUP_ROUNDS = 20;
+    static final int MEASURED_ROUNDS = 100;
+    static final Path RESULTS = Path.of("build", "benchmarks", "order-insert.txt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcStatementCounter statementCounter;
+
+    /**
+     * Ids of the identity baseline are generated by the tables themselves, like before the
+     * pooled sequences were introduced.
+     */
+    @BeforeEach
+    void createIdentityTables() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS identity_benchmark_orders (
+                    id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                    user_id bigint NOT NULL,
+                    status varchar(64) NOT NULL,
+                    creation_date timestamp NOT NULL
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS identity_benchmark_order_items (
+                    id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                    order_id bigint NOT NULL REFERENCES identity_benchmark_orders(id),
+                    item_id bigint NOT NULL REFERENCES items(id),
+                    quantity integer NOT NULL,
+                    unit_price decimal(10,2) NOT NULL
+                )""");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "identity, 1, 1", "identity, 50, 1", "identity, 500, 1",
+            "pooled, 1, 1", "pooled, 1, 50", "pooled, 50, 1", "pooled, 50, 50", "pooled, 500, 1", "pooled, 500, 50"
+    })
+    void saveOrder(String idGeneration, int lines, int jdbcBatchSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean identity = idGeneration.equals("identity");
+        Runnable save = identity
+                ? () -> insertIdentityOrder(lines)
+                : () -> persistOrder(lines, jdbcBatchSize);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            save.run();
+        }
+
+        statistics.clear();
+        AtomicInteger statements = new AtomicInteger();
+        statementCounter.bind(statements);
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                save.run();
+            }
+        } finally {
+            statementCounter.unbind();
+        }
+        double averageMillis = (System.nanoTime() - started) / 1_000_000.0 / MEASURED_ROUNDS;
+        double statementsPerOrder = statements.get() / (double) MEASURED_ROUNDS;
+
+        String line = String.format(
+                "ids=%-8s lines=%-4d jdbc-batch-size=%-3d statements/order=%.1f latency=%.2fms%n",
+                idGeneration, lines, jdbcBatchSize, statementsPerOrder, averageMillis);
+        log.warn(line.trim());
+        Files.createDirectories(RESULTS.getParent());
+        Files.writeString(RESULTS, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        if (identity) {
+            assertThat(statements.get()).isEqualTo(MEASURED_ROUNDS * (lines + 1));
+        } else {
+            assertThat(statistics.getEntityInsertCount()).isEqualTo((long) MEASURED_ROUNDS * (lines + 1));
+        }
+    }
+
+    private void persistOrder(int lines, int jdbcBatchSize) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            Order order = Order.builder()
+                    .userId(1L)
+                    .status(Status.PENDING)
+                    .orderItems(new ArrayList<>())
+                    .build();
+            List<OrderItem> orderItems = order.getOrderItems();
+            for (int i = 0; i < lines; i++) {
+                orderItems.add(OrderItem.builder()
+                        .order(order)
+                        .item(entityManager.getReference(Item.class, (long) (i % 5) + 1))
+                        .quantity(1)
+                        .unitPrice(10.0)
+                        .build());
+            }
+            entityManager.persist(order);
+        });
+    }
+
+    private void insertIdentityOrder(int lines) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long orderId = jdbcTemplate.queryForObject("""
+                    INSERT INTO identity_benchmark_orders (user_id, status, creation_date)
+                    VALUES (?, ?, ?)
+                    RETURNING id""", Long.class, 1L, Status.PENDING.name(), LocalDateTime.now());
+            for (int i = 0; i < lines; i++) {
+                jdbcTemplate.queryForObject("""
+                        INSERT INTO identity_benchmark_order_items (order_id, item_id, quantity, unit_price)
+                        VALUES (?, ?, 1, 10.0)
+                        RETURNING id""", Long.class, orderId, (long) (i % 5) + 1);
+            }
+        });
+    }
+}
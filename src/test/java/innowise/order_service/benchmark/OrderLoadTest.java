@@ -0,0 +1,296 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.controller.BaseIT;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.dto.UpdateOrderDto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mixed create/read/list/update workload against the running application, backed by
+ * Postgres and Redis containers and a {@link UserServiceStub} with injected latency and errors.
+ * Throughput and latency percentiles per endpoint are appended to {@code build/benchmarks/load-test.txt}.
+ * <p>
+ * Run with {@code ./gradlew benchmark --tests '*OrderLoadTest'}. The workload is tuned with
+ * {@code load.*} system properties, for example
+ * {@code -Dload.clients=100 -Dload.duration=2m -Dload.user-service.latency=200ms -Dload.user-service.error-rate=0.05}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.innowise.order_service=error"
+})
+class OrderLoadTest extends BaseIT {
+
+    static final int CLIENTS = Integer.getInteger("load.clients", 50);
+    static final Duration WARMUP = duration("load.warmup", "10s");
+    static final Duration MEASUREMENT = duration("load.duration", "30s");
+    static final Duration USER_SERVICE_LATENCY = duration("load.user-service.latency", "50ms");
+    static final Duration USER_SERVICE_JITTER = duration("load.user-service.jitter", "20ms");
+    static final double USER_SERVICE_ERROR_RATE =
+            Double.parseDouble(System.getProperty("load.user-service.error-rate", "0.01"));
+    static final boolean USER_SERVICE_BATCH =
+            Boolean.parseBoolean(System.getProperty("load.user-service.batch", "true"));
+    static final int INITIAL_ORDERS = 500;
+    static final int ITEM_COUNT = 5;
+    static final Path RESULTS = Path.of("build", "benchmarks", "load-test.txt");
+
+    static final UserServiceStub USER_SERVICE = UserServiceStub.start(USER_SERVICE_LATENCY);
+
+    @DynamicPropertySource
+    static void userServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("user-service.host", USER_SERVICE::getHost);
+        registry.add("user-service.port", USER_SERVICE::getPort);
+    }
+
+    @AfterAll
+    static void stopUserService() {
+        USER_SERVICE.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<Long> orderIds = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Operations with their share of the workload, in percent.
+     */
+    enum Operation {
+        CREATE("POST /orders", 15),
+        READ("GET /orders/{id}", 45),
+        LIST("POST /orders/list", 15),
+        STATUS_PAGE("GET /orders/status/{status}", 15),
+        UPDATE("PUT /orders/{id}", 10);
+
+        final String endpoint;
+        final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        static Operation pick() {
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return READ;
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        USER_SERVICE.setJitter(USER_SERVICE_JITTER);
+        USER_SERVICE.setErrorRate(USER_SERVICE_ERROR_RATE);
+        USER_SERVICE.setBatchEndpoint(USER_SERVICE_BATCH);
+        for (int i = 0; i < INITIAL_ORDERS; i++) {
+            execute(Operation.CREATE);
+        }
+        assertThat(orderIds).as("orders created while seeding").isNotEmpty();
+
+        runLoad(WARMUP);
+        Map<Operation, EndpointStats> stats = runLoad(MEASUREMENT);
+
+        String report = report(stats);
+        Files.createDirectories(RESULTS.getParent());
+        Files.writeString(RESULTS, report, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        assertThat(stats.values()).allSatisfy(endpointStats -> assertThat(endpointStats.completed()).isPositive());
+    }
+
+    /**
+     * Runs the clients until the duration has passed. A client that dies of an unexpected exception
+     * fails the run instead of silently lowering the load.
+     */
+    private Map<Operation, EndpointStats> runLoad(Duration duration) throws Exception {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        Arrays.stream(Operation.values()).forEach(operation -> stats.put(operation, new EndpointStats()));
+        Instant end = Instant.now().plus(duration);
+        List<Future<?>> clientRuns = new ArrayList<>(CLIENTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clientRuns.add(clients.submit(() -> {
+                    while (Instant.now().isBefore(end)) {
+                        Operation operation = Operation.pick();
+                        long started = System.nanoTime();
+                        boolean succeeded;
+                        try {
+                            succeeded = execute(operation);
+                        } catch (IOException e) {
+                            succeeded = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        stats.get(operation).record(System.nanoTime() - started, succeeded);
+                    }
+                }));
+            }
+        }
+        for (Future<?> clientRun : clientRuns) {
+            clientRun.get();
+        }
+        return stats;
+    }
+
+    private boolean execute(Operation operation) throws IOException, InterruptedException {
+        HttpRequest request = switch (operation) {
+            case CREATE -> post("/orders", OrderRequestDto.builder()
+                    .userId(randomUserId())
+                    .orderItems(randomOrderItems())
+                    .build());
+            case READ -> HttpRequest.newBuilder(uri("/orders/" + randomOrderId())).GET().build();
+            case LIST -> HttpRequest.newBuilder(uri("/orders/list?" + IntStream.range(0, 10)
+                            .mapToObj(i -> "orderIds=" + randomOrderId())
+                            .collect(Collectors.joining("&"))))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case STATUS_PAGE -> HttpRequest.newBuilder(uri("/orders/status/" + Status.SUCCESS + "?size=20"))
+                    .GET()
+                    .build();
+            case UPDATE -> HttpRequest.newBuilder(uri("/orders/" + randomOrderId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                            new UpdateOrderDto(randomOrderItems()))))
+                    .build();
+        };
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        boolean succeeded = response.statusCode() / 100 == 2;
+        if (succeeded && operation == Operation.CREATE) {
+            orderIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return succeeded;
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private long randomOrderId() {
+        synchronized (orderIds) {
+            return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+        }
+    }
+
+    private static long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, 1_000);
+    }
+
+    private static List<OrderItemRequestDto> randomOrderItems() {
+        return IntStream.range(0, ThreadLocalRandom.current().nextInt(1, 6))
+                .mapToObj(i -> new OrderItemRequestDto(
+                        ThreadLocalRandom.current().nextLong(1, ITEM_COUNT + 1),
+                        ThreadLocalRandom.current().nextInt(1, 4)))
+                .toList();
+    }
+
+    private String report(Map<Operation, EndpointStats> stats) {
+        StringBuilder report = new StringBuilder(String.format(
+                "%s clients=%d duration=%ds user-service latency=%dms jitter=%dms error-rate=%.2f batch=%s%n",
+                LocalDateTime.now(), CLIENTS, MEASUREMENT.toSeconds(), USER_SERVICE_LATENCY.toMillis(),
+                USER_SERVICE_JITTER.toMillis(), USER_SERVICE_ERROR_RATE, USER_SERVICE_BATCH));
+        stats.forEach((operation, endpointStats) -> {
+            long[] latencies = endpointStats.sortedLatencies();
+            report.append(String.format(
+                    "  %-30s completed=%-7d failed=%-5d throughput=%8.1f req/s p50=%7.1fms p95=%7.1fms p99=%7.1fms%n",
+                    operation.endpoint, endpointStats.completed(), endpointStats.failed(),
+                    endpointStats.completed() / (double) MEASUREMENT.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99)));
+        });
+        return report.toString();
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    private static final class EndpointStats {
+
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void record(long latencyNanos, boolean succeeded) {
+            if (succeeded) {
+                completed.increment();
+                latencies.add(latencyNanos);
+            } else {
+                failed.increment();
+            }
+        }
+
+        long completed() {
+            return completed.sum();
+        }
+
+        long failed() {
+            return failed.sum();
+        }
+
+        long[] sortedLatencies() {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package innowise.order_service.benchmark;
+
+import innowise.order_service.controller.BaseIT;
+import innowise.order_service.dto.OrderResponseDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.mapper.OrderMapper;
+import innowise.order_service.repository.OrderReadRepository;
+import innowise.order_service.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity read path (managed entities mapped by {@link OrderMapper}) with the
+ * {@link OrderReadRepository} read model and records latency and allocated bytes per read in
+ * {@code build/benchmarks}. Run with {@code ./gradlew benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.innowise.order_service=error"
+})
+class OrderReadPathBenchmark extends BaseIT {
+
+    static final int ORDER_COUNT = 100;
+    static final int LINES_PER_ORDER = 10;
+    static final int WARMUP_ROUNDS = 200;
+    static final int MEASURED_ROUNDS = 500;
+    static final Path RESULTS = Path.of("build", "benchmarks", "order-read.txt");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderReadRepository orderReadRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTransaction;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+
+        orderRepository.deleteAll();
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds.add(orderRepository.save(orderWithLines()).getId());
+        }
+    }
+
+    @Test
+    void readOrdersByIds() throws Exception {
+        Supplier<List<OrderResponseDto>> entityPath = () -> readTransaction.execute(transactionStatus ->
+                orderRepository.findAllById(orderIds).stream()
+                        .map(orderMapper::toDto)
+                        .toList());
+        Supplier<List<OrderResponseDto>> readModel = () -> readTransaction.execute(transactionStatus ->
+                orderReadRepository.findAllById(orderIds));
+
+        assertThat(readModel.get()).usingRecursiveComparison().ignoringCollectionOrder()
+                .isEqualTo(entityPath.get());
+
+        measure("entities", entityPath);
+        measure("read-model", readModel);
+    }
+
+    private void measure(String path, Supplier<List<OrderResponseDto>> read) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            read.get();
+        }
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            read.get();
+        }
+        double averageMillis = (System.nanoTime() - started) / 1_000_000.0 / MEASURED_ROUNDS;
+        long allocatedPerRead = (threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_ROUNDS;
+
+        String line = String.format("%-10s orders=%d lines/order=%d latency=%.2fms allocated=%dKB/read%n",
+                path, ORDER_COUNT, LINES_PER_ORDER, averageMillis, allocatedPerRead / 1024);
+        log.warn(line.trim());
+        Files.createDirectories(RESULTS.getParent());
+        Files.writeString(RESULTS, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private Order orderWithLines() {
+        Order order = Order.builder()
+                .userId(1L)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            order.getOrderItems().add(OrderItem.builder()
+                    .order(order)
+                    .item(Item.builder().id((long) (i % 5) + 1).build())
+                    .quantity(i + 1)
+                    .unitPrice(10.0)
+                    .build());
+        }
+        return order;
+    }
+}
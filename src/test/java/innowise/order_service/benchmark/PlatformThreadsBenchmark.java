@@ -0,0 +1,12 @@
+package innowise.order_service.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsBenchmark extends AbstractThreadingModeBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,135 @@
+package innowise.order_service.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in for user-service that answers {@code GET /users/{id}} after a configurable delay.
+ * The batch endpoint {@code GET /users?ids=...} is off by default, so list enrichment falls back
+ * to single lookups. Latency, jitter and error rate can be changed while the stub is running,
+ * to reproduce a slow or failing user-service in the middle of a test.
+ */
+public class UserServiceStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final LongAdder requests = new LongAdder();
+    private volatile Duration latency;
+    private volatile Duration jitter = Duration.ZERO;
+    private volatile double errorRate;
+    private volatile boolean batchEndpoint;
+
+    private UserServiceStub(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/users", this::handle);
+    }
+
+    public static UserServiceStub start(Duration latency) {
+        try {
+            UserServiceStub stub = new UserServiceStub(latency);
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start user-service stub", e);
+        }
+    }
+
+    public String getHost() {
+        return "http://localhost";
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Adds a uniformly distributed random delay of up to {@code jitter} to every response.
+     */
+    public void setJitter(Duration jitter) {
+        this.jitter = jitter;
+    }
+
+    /**
+     * Share of requests, between 0 and 1, that are answered with 500.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setBatchEndpoint(boolean batchEndpoint) {
+        this.batchEndpoint = batchEndpoint;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            Thread.sleep(delay());
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            if (path.matches("/users/\\d+")) {
+                respond(exchange, user(Long.parseLong(path.substring("/users/".length()))));
+            } else if (batchEndpoint && path.equals("/users") && query != null) {
+                respond(exchange, Arrays.stream(query.split("&"))
+                        .filter(parameter -> parameter.startsWith("ids="))
+                        .flatMap(parameter -> Arrays.stream(parameter.substring("ids=".length()).split("%2C|,")))
+                        .map(id -> user(Long.parseLong(id)))
+                        .collect(Collectors.joining(",", "[", "]")));
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Duration delay() {
+        long jitterMillis = jitter.toMillis();
+        return jitterMillis > 0
+                ? latency.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1))
+                : latency;
+    }
+
+    private static String user(long id) {
+        return String.format(
+                "{\"id\":%d,\"name\":\"User\",\"surname\":\"%d\",\"email\":\"user%d@example.com\"}", id, id, id);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+}
@@ -0,0 +1,12 @@
+package innowise.order_service.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsBenchmark extends AbstractThreadingModeBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
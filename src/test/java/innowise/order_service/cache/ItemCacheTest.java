@@ -0,0 +1,86 @@
+package innowise.order_service.cache;
+
+import innowise.order_service.entity.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCacheTest {
+
+    @Mock
+    private RedisTemplate<String, Item> itemRedisTemplate;
+
+    private ItemCacheProperties properties;
+    private Item item;
+
+    public static final Long ITEM_ID = 1L;
+    public static final Long MISSING_ITEM_ID = 2L;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemCacheProperties();
+        properties.getRedis().setEnabled(false);
+
+        item = Item.builder()
+                .id(ITEM_ID)
+                .name("Test Item")
+                .price(100.0)
+                .build();
+    }
+
+    @Test
+    void testGetReturnsCopyOfCachedItem() {
+        ItemCache itemCache = new ItemCache(properties, itemRedisTemplate);
+        itemCache.put(item);
+
+        Item result = itemCache.get(ITEM_ID).orElseThrow();
+
+        assertEquals(item, result);
+        assertNotSame(item, result);
+        verifyNoInteractions(itemRedisTemplate);
+    }
+
+    @Test
+    void testGetAllReturnsOnlyCachedItems() {
+        ItemCache itemCache = new ItemCache(properties, itemRedisTemplate);
+        itemCache.put(item);
+
+        Map<Long, Item> result = itemCache.getAll(List.of(ITEM_ID, MISSING_ITEM_ID));
+
+        assertEquals(Map.of(ITEM_ID, item), result);
+        assertEquals(1, itemCache.stats().nearHits());
+        assertEquals(1, itemCache.stats().nearMisses());
+    }
+
+    @Test
+    void testInvalidateEvictsItem() {
+        ItemCache itemCache = new ItemCache(properties, itemRedisTemplate);
+        itemCache.put(item);
+
+        itemCache.invalidate(ITEM_ID);
+
+        assertTrue(itemCache.get(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void testDisabledCacheStoresNothing() {
+        properties.setEnabled(false);
+        ItemCache itemCache = new ItemCache(properties, itemRedisTemplate);
+        itemCache.put(item);
+
+        assertTrue(itemCache.get(ITEM_ID).isEmpty());
+        assertTrue(itemCache.getAll(List.of(ITEM_ID)).isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package innowise.order_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AsyncOrderAcceptanceIT extends BaseIT {
+
+    @DynamicPropertySource
+    static void acceptanceProperties(DynamicPropertyRegistry registry) {
+        registry.add("order-acceptance.mode", () -> "async");
+        registry.add("order-acceptance.poll-interval", () -> "50ms");
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void createOrder_ShouldBeAcceptedAndSettledInBackground() throws Exception {
+        long orderId = accept(new OrderItemRequestDto(1L, 2), new OrderItemRequestDto(2L, 1));
+
+        JsonNode order = awaitSettled(orderId);
+
+        assertThat(order.get("status").asText()).isEqualTo(Status.SUCCESS.name());
+        assertThat(order.get("orderItems")).hasSize(2);
+        assertThat(order.has("failureReason")).isFalse();
+    }
+
+    @Test
+    void createOrderWithUnknownItem_ShouldFail() throws Exception {
+        long orderId = accept(new OrderItemRequestDto(999L, 1));
+
+        JsonNode order = awaitSettled(orderId);
+
+        assertThat(order.get("status").asText()).isEqualTo(Status.FAILED.name());
+        assertThat(order.get("failureReason").asText()).isEqualTo("Items not found: [999]");
+    }
+
+    private long accept(OrderItemRequestDto... orderItems) throws Exception {
+        OrderRequestDto orderRequestDto = OrderRequestDto.builder()
+                .userId(1L)
+                .orderItems(List.of(orderItems))
+                .build();
+        MvcResult result = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.status").value(Status.PENDING.name()))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private JsonNode awaitSettled(long orderId) throws Exception {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (true) {
+            JsonNode order = objectMapper.readTree(mockMvc.perform(get("/orders/{id}", orderId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!Status.PENDING.name().equals(order.get("status").asText()) || Instant.now().isAfter(deadline)) {
+                return order;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
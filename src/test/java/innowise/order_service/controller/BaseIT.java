@@ -1,6 +1,7 @@
 package innowise.order_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.testcontainers.RedisContainer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,20 +9,32 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
 
 @SpringBootTest
 @Testcontainers
 @AutoConfigureMockMvc
 public class BaseIT {
 
-    @Container
     public static final PostgreSQLContainer<?> POSTGRESQL_CONTAINER =
             new PostgreSQLContainer<>("postgres:15")
                     .withDatabaseName("testdb")
                     .withUsername("test")
-                    .withPassword("test");
+                    .withPassword("test")
+                    .withUrlParam("reWriteBatchedInserts", "true");
+
+    public static final RedisContainer REDIS_CONTAINER =
+            new RedisContainer(DockerImageName.parse("redis:7-alpine"));
+
+    /*
+     * Containers are shared by every test class of the JVM, so that cached Spring contexts
+     * never point at a container that was stopped after another class finished.
+     */
+    static {
+        POSTGRESQL_CONTAINER.start();
+        REDIS_CONTAINER.start();
+    }
 
     @Autowired
     protected MockMvc mockMvc;
@@ -34,6 +47,9 @@ public class BaseIT {
         registry.add("spring.datasource.url", POSTGRESQL_CONTAINER::getJdbcUrl);
         registry.add("spring.datasource.username", POSTGRESQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password", POSTGRESQL_CONTAINER::getPassword);
+        registry.add("spring.data.redis.host", REDIS_CONTAINER::getHost);
+        registry.add("spring.data.redis.port", REDIS_CONTAINER::getFirstMappedPort);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
 
         try {
             Thread.sleep(2000);
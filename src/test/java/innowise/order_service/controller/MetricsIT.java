@@ -0,0 +1,84 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.benchmark.UserServiceStub;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureObservability
+class MetricsIT extends BaseIT {
+
+    static final UserServiceStub USER_SERVICE = UserServiceStub.start(Duration.ZERO);
+
+    @DynamicPropertySource
+    static void userServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("user-service.host", USER_SERVICE::getHost);
+        registry.add("user-service.port", USER_SERVICE::getPort);
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeOrderMetrics() throws Exception {
+        OrderRequestDto orderRequestDto = OrderRequestDto.builder()
+                .userId(1L)
+                .orderItems(List.of(new OrderItemRequestDto(1L, 1), new OrderItemRequestDto(2L, 1)))
+                .build();
+        String response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/orders/{id}", objectMapper.readTree(response).get("id").asLong()))
+                .andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics).contains(
+                "http_server_requests_seconds_bucket{",
+                "uri=\"/orders/{id}\"",
+                "http_server_requests_statements_count{",
+                "feign_client_requests_seconds_bucket{",
+                "client=\"user-service\"",
+                "hikaricp_connections_active{",
+                "hikaricp_connections_acquire_seconds_bucket{",
+                "orders_item_lookups_sum{",
+                "item_cache_requests_total{");
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldRecordStatementsOfAsyncExport() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export").param("status", "SUCCESS"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The export streams through the JDBC read model on the export executor.
+        assertThat(metrics.lines()
+                .filter(line -> line.startsWith("http_server_requests_statements_sum{")
+                        && line.contains("uri=\"/orders/export\""))
+                .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .sum())
+                .isPositive();
+    }
+}
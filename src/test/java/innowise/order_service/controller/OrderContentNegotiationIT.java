@@ -0,0 +1,147 @@
+package innowise.order_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.client.UserDto;
+import innowise.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderContentNegotiationIT extends BaseIT {
+
+    public static final Long USER_ID = 123L;
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+    private final ObjectMapper smileMapper = new SmileMapper();
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        when(userService.getUserById(anyLong())).thenReturn(UserDto.builder().id(USER_ID).name("John").build());
+    }
+
+    @Test
+    void createOrder_WithCborBody_ShouldAnswerInCbor() throws Exception {
+        byte[] response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(order())))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode order = cborMapper.readTree(response);
+        assertThat(order.get("userId").asLong()).isEqualTo(USER_ID);
+        assertThat(order.get("orderItems")).hasSize(2);
+    }
+
+    @Test
+    void getOrderById_ShouldCarrySameFieldsInEveryFormat() throws Exception {
+        Long orderId = createOrder();
+
+        JsonNode json = objectMapper.readTree(mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode cbor = cborMapper.readTree(mockMvc.perform(get("/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode smile = smileMapper.readTree(mockMvc.perform(get("/orders/{id}", orderId)
+                        .accept(APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray());
+
+        assertThat(cbor).isEqualTo(json);
+        assertThat(smile).isEqualTo(json);
+    }
+
+    @Test
+    void getOrderById_ShouldTagEveryFormatWithItsOwnStrongETag() throws Exception {
+        Long orderId = createOrder();
+
+        String jsonETag = mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborETag = mockMvc.perform(get("/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(jsonETag).startsWith("\"");
+        assertThat(cborETag).startsWith("\"").isNotEqualTo(jsonETag);
+        mockMvc.perform(get("/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void getOrdersByIds_InCbor_ShouldBeSmallerThanJson() throws Exception {
+        List<String> orderIds = List.of(createOrder().toString(), createOrder().toString());
+
+        byte[] json = mockMvc.perform(post("/orders/list")
+                        .param("orderIds", orderIds.toArray(String[]::new)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(post("/orders/list")
+                        .param("orderIds", orderIds.toArray(String[]::new))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readTree(cbor)).isEqualTo(objectMapper.readTree(json));
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
+    private Long createOrder() throws Exception {
+        String response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private static OrderRequestDto order() {
+        return OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(new OrderItemRequestDto(1L, 2), new OrderItemRequestDto(2L, 1)))
+                .build();
+    }
+}
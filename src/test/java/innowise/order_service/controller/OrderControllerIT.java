@@ -1,7 +1,9 @@
 package innowise.order_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
 import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderItemPatchDto;
 import innowise.order_service.dto.OrderItemRequestDto;
 import innowise.order_service.dto.OrderRequestDto;
 import innowise.order_service.dto.Status;
@@ -17,19 +19,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +61,9 @@ class OrderControllerIT extends BaseIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private HikariDataSource dataSource;
+
     @MockBean
     private UserServiceClient userService;
 
@@ -57,6 +74,7 @@ class OrderControllerIT extends BaseIT {
 
     private Order order;
     private OrderItemRequestDto orderItemRequestDto;
+    private UserDto userDto;
 
     @BeforeEach
     void setUp() {
@@ -72,6 +90,7 @@ class OrderControllerIT extends BaseIT {
                 .id(ITEM_ID)
                 .item(item)
                 .quantity(QUANTITY)
+                .unitPrice(item.getPrice())
                 .build();
 
         orderItemRequestDto = OrderItemRequestDto.builder()
@@ -89,7 +108,7 @@ class OrderControllerIT extends BaseIT {
         orderItem.setOrder(order);
         order.getOrderItems().add(orderItem);
 
-        UserDto userDto = UserDto.builder()
+        userDto = UserDto.builder()
                 .id(USER_ID)
                 .name("John")
                 .surname("Doe")
@@ -98,6 +117,7 @@ class OrderControllerIT extends BaseIT {
                 .build();
 
         when(userService.getUserById(USER_ID)).thenReturn(userDto);
+        when(userService.getUsersByIds(List.of(USER_ID))).thenReturn(List.of(userDto));
     }
 
     @Test
@@ -115,6 +135,79 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.user.id").value(USER_ID))
                 .andExpect(jsonPath("$.user.name").value("John"))
+                .andExpect(jsonPath("$.orderItems.length()").value(1))
+                .andExpect(jsonPath("$.orderItems[0].unitPrice").value(899.99))
+                .andExpect(jsonPath("$.totalAmount").value(1799.98))
+                .andExpect(jsonPath("$.lineCount").value(1));
+    }
+
+    @Test
+    void createOrders_ShouldPersistValidOrdersAndReportFailures() throws Exception {
+        OrderRequestDto validOrder = OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(orderItemRequestDto))
+                .build();
+        OrderRequestDto orderWithUnknownItem = OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(999L)
+                        .quantity(QUANTITY)
+                        .build()))
+                .build();
+
+        List<OrderRequestDto> orders = List.of(validOrder, orderWithUnknownItem, validOrder);
+
+        String response = mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orders)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].created").value(false))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long createdOrderId = objectMapper.readTree(response).at("/results/2/orderId").asLong();
+        mockMvc.perform(get("/orders/{id}", createdOrderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.orderItems.length()").value(1))
+                .andExpect(jsonPath("$.orderItems[0].quantity").value(QUANTITY));
+    }
+
+    @Test
+    void createOrders_WithOrderFailingToPersist_ShouldCreateRestOfChunk() throws Exception {
+        OrderRequestDto validOrder = OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(orderItemRequestDto))
+                .build();
+        // Passes validation, but its total overflows the total_amount column.
+        OrderRequestDto overflowingOrder = OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(ITEM_ID)
+                        .quantity(Integer.MAX_VALUE)
+                        .build()))
+                .build();
+
+        String response = mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validOrder, overflowingOrder, validOrder))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].created").value(true))
+                .andExpect(jsonPath("$.results[1].created").value(false))
+                .andExpect(jsonPath("$.results[1].error").value("Failed to persist order"))
+                .andExpect(jsonPath("$.results[2].created").value(true))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long createdOrderId = objectMapper.readTree(response).at("/results/0/orderId").asLong();
+        mockMvc.perform(get("/orders/{id}", createdOrderId))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.orderItems.length()").value(1));
     }
 
@@ -130,6 +223,33 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(jsonPath("$.user.id").value(USER_ID));
     }
 
+    @Test
+    void getOrderById_WithCurrentETag_ShouldReturnNotModifiedWithoutCallingUserService() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+        String eTag = mockMvc.perform(get("/orders/{id}", savedOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        clearInvocations(userService);
+
+        mockMvc.perform(get("/orders/{id}", savedOrder.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verifyNoInteractions(userService);
+
+        mockMvc.perform(patch("/orders/{id}/items/{itemId}", savedOrder.getId(), ITEM_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderItemPatchDto(QUANTITY + 1))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/orders/{id}", savedOrder.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems[0].quantity").value(QUANTITY + 1));
+    }
+
     @Test
     void getOrderById_WithInvalidId_ShouldReturnNotFound() throws Exception {
         mockMvc.perform(get("/orders/{id}", 999L))
@@ -154,7 +274,34 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(savedOrder1.getId()))
-                .andExpect(jsonPath("$[1].id").value(savedOrder2.getId()));
+                .andExpect(jsonPath("$[1].id").value(savedOrder2.getId()))
+                .andExpect(jsonPath("$[0].user.id").value(USER_ID))
+                .andExpect(jsonPath("$[1].user.id").value(USER_ID));
+    }
+
+    @Test
+    void getOrdersByIds_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+        String eTag = mockMvc.perform(post("/orders/list")
+                        .param("orderIds", savedOrder.getId().toString(), "999"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(userService);
+
+        mockMvc.perform(post("/orders/list")
+                        .param("orderIds", savedOrder.getId().toString(), "999")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(userService);
+
+        mockMvc.perform(delete("/orders/{id}", savedOrder.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/orders/list")
+                        .param("orderIds", savedOrder.getId().toString(), "999")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
     }
 
     @Test
@@ -175,6 +322,108 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(jsonPath("$[0].id").value(pendingOrder.getId()));
     }
 
+    @Test
+    void getOrdersByStatus_ShouldPageWithContinuationToken() throws Exception {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            orderIds.add(orderRepository.save(Order.builder()
+                    .userId(USER_ID)
+                    .status(Status.FAILED)
+                    .orderItems(new ArrayList<>())
+                    .build()).getId());
+        }
+
+        String nextPageToken = mockMvc.perform(get("/orders/status/{status}", Status.FAILED)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(OrderController.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(orderIds.get(0)))
+                .andExpect(jsonPath("$[1].id").value(orderIds.get(1)))
+                .andReturn()
+                .getResponse()
+                .getHeader(OrderController.NEXT_PAGE_TOKEN_HEADER);
+
+        mockMvc.perform(get("/orders/status/{status}", Status.FAILED)
+                        .param("size", "2")
+                        .param("pageToken", nextPageToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(OrderController.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(orderIds.get(2)));
+    }
+
+    @Test
+    void getOrdersByStatus_WithInvalidPageToken_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/orders/status/{status}", Status.FAILED)
+                        .param("pageToken", "not-a-token"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getOrderHistory_ShouldPageNewestFirstWithOneUserLookupPerPage() throws Exception {
+        List<Long> orderIds = new ArrayList<>();
+        for (Status status : List.of(Status.SUCCESS, Status.FAILED, Status.SUCCESS, Status.SUCCESS)) {
+            orderIds.add(orderRepository.save(Order.builder()
+                    .userId(USER_ID)
+                    .status(status)
+                    .orderItems(new ArrayList<>())
+                    .build()).getId());
+        }
+        orderRepository.save(Order.builder()
+                .userId(USER_ID + 1)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build());
+        clearInvocations(userService);
+
+        String nextPageToken = mockMvc.perform(get("/orders/user/{userId}", USER_ID)
+                        .param("status", Status.SUCCESS.name())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(OrderController.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(jsonPath("$.user.email").value(userDto.email()))
+                .andExpect(jsonPath("$.orders.length()").value(2))
+                .andExpect(jsonPath("$.orders[0].id").value(orderIds.get(3)))
+                .andExpect(jsonPath("$.orders[1].id").value(orderIds.get(2)))
+                .andReturn()
+                .getResponse()
+                .getHeader(OrderController.NEXT_PAGE_TOKEN_HEADER);
+
+        mockMvc.perform(get("/orders/user/{userId}", USER_ID)
+                        .param("status", Status.SUCCESS.name())
+                        .param("size", "2")
+                        .param("pageToken", nextPageToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(OrderController.NEXT_PAGE_TOKEN_HEADER))
+                .andExpect(jsonPath("$.orders.length()").value(1))
+                .andExpect(jsonPath("$.orders[0].id").value(orderIds.get(0)));
+
+        verify(userService, times(2)).getUserById(USER_ID);
+        verify(userService, never()).getUsersByIds(anyList());
+    }
+
+    @Test
+    void getOrderHistory_WithPageTokenOfAnotherUser_ShouldReturnBadRequest() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            orderRepository.save(Order.builder()
+                    .userId(USER_ID)
+                    .status(Status.SUCCESS)
+                    .orderItems(new ArrayList<>())
+                    .build());
+        }
+        String nextPageToken = mockMvc.perform(get("/orders/user/{userId}", USER_ID)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(OrderController.NEXT_PAGE_TOKEN_HEADER);
+
+        mockMvc.perform(get("/orders/user/{userId}", USER_ID + 1)
+                        .param("pageToken", nextPageToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateOrderById_ShouldUpdateAndReturnOrder() throws Exception {
         Order savedOrder = orderRepository.save(order);
@@ -197,6 +446,66 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(jsonPath("$.orderItems[0].quantity").value(5));
     }
 
+    @Test
+    void updateOrderById_WithoutLinesOrQuantity_ShouldReturnBadRequest() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+
+        for (String body : List.of("{}", "{\"orderItems\":[]}", "{\"orderItems\":[{\"itemId\":1}]}")) {
+            mockMvc.perform(put("/orders/{id}", savedOrder.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void updateOrderById_ShouldKeepUnchangedLines() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+        Long orderItemId = savedOrder.getOrderItems().get(0).getId();
+
+        UpdateOrderDto updateDto = UpdateOrderDto.builder()
+                .orderItems(List.of(
+                        OrderItemRequestDto.builder().itemId(ITEM_ID).quantity(7).build(),
+                        OrderItemRequestDto.builder().itemId(2L).quantity(1).build()))
+                .build();
+
+        mockMvc.perform(put("/orders/{id}", savedOrder.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(2));
+
+        List<OrderItem> orderItems = orderRepository.findById(savedOrder.getId()).orElseThrow().getOrderItems();
+        assertThat(orderItems)
+                .filteredOn(orderItem -> orderItem.getId().equals(orderItemId))
+                .singleElement()
+                .extracting(OrderItem::getQuantity)
+                .isEqualTo(7);
+    }
+
+    @Test
+    void updateOrderItem_ShouldAddChangeAndRemoveLines() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+
+        mockMvc.perform(patch("/orders/{id}/items/{itemId}", savedOrder.getId(), 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderItemPatchDto(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(2));
+
+        mockMvc.perform(patch("/orders/{id}/items/{itemId}", savedOrder.getId(), ITEM_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderItemPatchDto(0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(1))
+                .andExpect(jsonPath("$.orderItems[0].quantity").value(3));
+
+        mockMvc.perform(patch("/orders/{id}/items/{itemId}", savedOrder.getId(), 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderItemPatchDto(0))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteOrderById_ShouldDeleteOrder() throws Exception {
         Order savedOrder = orderRepository.save(order);
@@ -221,6 +530,18 @@ class OrderControllerIT extends BaseIT {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createOrder_WithInvalidLine_ShouldReturnBadRequest() throws Exception {
+        String invalidRequest = """
+                {"userId": %d, "orderItems": [{"itemId": 1, "quantity": 1}, {"itemId": 1}, null]}"""
+                .formatted(USER_ID);
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invalidRequest))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createOrder_WithInvalidUserId_ShouldReturnBadRequest() throws Exception {
         OrderRequestDto invalidRequest = OrderRequestDto.builder()
@@ -233,4 +554,50 @@ class OrderControllerIT extends BaseIT {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void userServiceCalls_ShouldNotHoldDatabaseConnection() throws Exception {
+        Order savedOrder = orderRepository.save(order);
+        List<Integer> activeConnections = new CopyOnWriteArrayList<>();
+        // A transaction bound to the request thread is invisible to lookups on the lookup executor,
+        // so it is only checked for calls made on the request thread itself.
+        Thread requestThread = Thread.currentThread();
+        List<Boolean> activeTransactions = new CopyOnWriteArrayList<>();
+        when(userService.getUserById(USER_ID)).thenAnswer(invocation -> {
+            activeConnections.add(dataSource.getHikariPoolMXBean().getActiveConnections());
+            if (Thread.currentThread() == requestThread) {
+                activeTransactions.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+            return userDto;
+        });
+        when(userService.getUsersByIds(List.of(USER_ID))).thenAnswer(invocation -> {
+            activeConnections.add(dataSource.getHikariPoolMXBean().getActiveConnections());
+            if (Thread.currentThread() == requestThread) {
+                activeTransactions.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+            return List.of(userDto);
+        });
+
+        OrderRequestDto orderRequestDto = OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(orderItemRequestDto))
+                .build();
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/orders/{id}", savedOrder.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/orders/{id}", savedOrder.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateOrderDto.builder()
+                                .orderItems(List.of(orderItemRequestDto))
+                                .build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/orders/status/{status}", Status.SUCCESS))
+                .andExpect(status().isOk());
+
+        assertThat(activeConnections).hasSize(4).containsOnly(0);
+        assertThat(activeTransactions).containsOnly(false);
+    }
+}
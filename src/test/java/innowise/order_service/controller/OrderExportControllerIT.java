@@ -0,0 +1,160 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderResponseDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+import innowise.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderExportControllerIT extends BaseIT {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    public static final Long USER_ID = 123L;
+
+    private List<Long> successOrderIds;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+
+        successOrderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            successOrderIds.add(saveOrder(Status.SUCCESS).getId());
+        }
+        saveOrder(Status.FAILED);
+    }
+
+    @Test
+    void exportOrders_ShouldStreamOneJsonLinePerOrder() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(parseIds(body)).containsExactlyElementsOf(successOrderIds);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void exportOrders_WithGzip_ShouldCompressBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertThat(parseIds(gunzip(compressed))).containsExactlyElementsOf(successOrderIds);
+    }
+
+    @Test
+    void exportOrders_WithGzipRefused_ShouldNotCompressBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(parseIds(body)).containsExactlyElementsOf(successOrderIds);
+    }
+
+    @Test
+    void exportOrders_WithDateRangeInThePast_ShouldReturnNothing() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name())
+                        .param("from", "2000-01-01T00:00:00")
+                        .param("to", "2001-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body).isEmpty();
+    }
+
+    @Test
+    void exportOrders_WithInvertedDateRange_ShouldReturnBadRequest() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name())
+                        .param("from", now.toString())
+                        .param("to", now.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Order saveOrder(Status status) {
+        return orderRepository.save(Order.builder()
+                .userId(USER_ID)
+                .status(status)
+                .orderItems(new ArrayList<>())
+                .build());
+    }
+
+    private List<Long> parseIds(String ndjson) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            ids.add(objectMapper.readValue(line, OrderResponseDto.class).getId());
+        }
+        return ids;
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
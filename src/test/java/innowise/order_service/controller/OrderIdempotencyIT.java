@@ -0,0 +1,115 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.client.UserDto;
+import innowise.order_service.idempotency.IdempotencyService;
+import innowise.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderIdempotencyIT extends BaseIT {
+
+    public static final Long USER_ID = 123L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    private String idempotencyKey;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        idempotencyKey = UUID.randomUUID().toString();
+        when(userService.getUserById(anyLong())).thenReturn(UserDto.builder().id(USER_ID).build());
+    }
+
+    @Test
+    void retryWithSameKey_ShouldReplayResponseWithoutCreatingOrder() throws Exception {
+        MvcResult first = createOrder(order(1)).andExpect(status().isCreated()).andReturn();
+        MvcResult retry = createOrder(order(1))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(orderRepository.count()).isEqualTo(1);
+        verify(userService, times(1)).getUserById(USER_ID);
+    }
+
+    @Test
+    void sameKeyWithDifferentPayload_ShouldBeRejected() throws Exception {
+        createOrder(order(1)).andExpect(status().isCreated());
+
+        createOrder(order(2)).andExpect(status().isUnprocessableEntity());
+
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicates_ShouldWaitForFirstRequest() throws Exception {
+        when(userService.getUserById(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return UserDto.builder().id(USER_ID).build();
+        });
+        Callable<String> request = () -> createOrder(order(1))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Future<String>> responses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            responses = executor.invokeAll(List.of(request, request, request, request));
+        }
+
+        assertThat(responses.stream().map(this::get).distinct()).hasSize(1);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    private ResultActions createOrder(OrderRequestDto orderRequestDto)
+            throws Exception {
+        return mockMvc.perform(post("/orders")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(orderRequestDto)));
+    }
+
+    private String get(Future<String> response) {
+        try {
+            return response.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static OrderRequestDto order(int quantity) {
+        return OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(new OrderItemRequestDto(1L, quantity)))
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.repository.ItemRepository;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.service.OrderPartitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderPartitioningIT extends BaseIT {
+
+    private static final String PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = CAST(? AS regclass)""";
+
+    @Autowired
+    private OrderPartitionService orderPartitionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void maintainPartitions_ShouldCreateMonthlyPartitionsOfBothTables() {
+        LocalDate today = LocalDate.now().plusMonths(6);
+
+        assertThat(orderPartitionService.maintainPartitions(today)).isTrue();
+
+        String lastSuffix = suffix(today.plusMonths(3));
+        assertThat(jdbcTemplate.queryForList(PARTITIONS, String.class, "orders")).contains("orders_" + lastSuffix);
+        assertThat(jdbcTemplate.queryForList(PARTITIONS, String.class, "order_items"))
+                .contains("order_items_" + lastSuffix);
+    }
+
+    @Test
+    void ordersInMonthlyPartition_ShouldBeReadWithTheirLines() throws Exception {
+        LocalDate month = LocalDate.now().plusMonths(5).withDayOfMonth(1);
+        orderPartitionService.maintainPartitions(month);
+        Long orderId = saveOrder(month.atTime(12, 0));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items_" + suffix(month)
+                + " WHERE order_id = ?", Long.class, orderId)).isEqualTo(1);
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(1));
+        mockMvc.perform(get("/orders/status/{status}", Status.SUCCESS)
+                        .param("from", month.atStartOfDay().toString())
+                        .param("to", month.plusMonths(1).atStartOfDay().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(orderId));
+        mockMvc.perform(get("/orders/status/{status}", Status.SUCCESS)
+                        .param("from", month.plusMonths(1).atStartOfDay().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private Long saveOrder(LocalDateTime creationDate) {
+        Item item = itemRepository.findById(1L).orElseThrow();
+        Order order = Order.builder()
+                .userId(1L)
+                .status(Status.SUCCESS)
+                .creationDate(creationDate)
+                .orderItems(new ArrayList<>())
+                .build();
+        order.getOrderItems().add(OrderItem.builder()
+                .order(order)
+                .item(item)
+                .quantity(2)
+                .unitPrice(item.getPrice())
+                .build());
+        order.recalculateTotals();
+        return orderRepository.save(order).getId();
+    }
+
+    private static String suffix(LocalDate month) {
+        return DateTimeFormatter.ofPattern("'p'yyyyMM").format(month);
+    }
+}
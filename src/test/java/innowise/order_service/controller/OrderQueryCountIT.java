@@ -0,0 +1,141 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.entity.OrderItem;
+import innowise.order_service.metrics.RequestStatementMetricsFilter;
+import innowise.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the read paths against N+1 queries: every order endpoint is served from the read model with
+ * a single JDBC statement and without loading any entities, and the export fetch plan of
+ * {@link OrderRepository} costs a single statement too, however many orders and order lines are
+ * returned. Statements are counted at the connection by {@link RequestStatementMetricsFilter}.
+ */
+class OrderQueryCountIT extends BaseIT {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    public static final Long USER_ID = 123L;
+    public static final int ORDER_COUNT = 100;
+    public static final List<Long> ITEM_IDS = List.of(1L, 2L, 3L);
+
+    private List<Long> orderIds;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds.add(orderRepository.save(orderWithLines()).getId());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getOrderById_ShouldUseSingleStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/{id}", orderIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderItems.length()").value(ITEM_IDS.size()))
+                .andReturn();
+
+        assertSingleStatementWithoutEntities(result);
+    }
+
+    @Test
+    void getOrdersByIds_ShouldUseSingleStatement() throws Exception {
+        MvcResult result = mockMvc.perform(post("/orders/list")
+                        .param("orderIds", orderIds.stream().map(String::valueOf).toArray(String[]::new)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ORDER_COUNT))
+                .andExpect(jsonPath("$[99].orderItems.length()").value(ITEM_IDS.size()))
+                .andReturn();
+
+        assertSingleStatementWithoutEntities(result);
+    }
+
+    @Test
+    void getOrdersByStatus_ShouldUseSingleStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/status/{status}", Status.SUCCESS)
+                        .param("size", String.valueOf(ORDER_COUNT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ORDER_COUNT))
+                .andExpect(jsonPath("$[99].orderItems.length()").value(ITEM_IDS.size()))
+                .andReturn();
+
+        assertSingleStatementWithoutEntities(result);
+    }
+
+    @Test
+    void exportOrders_ShouldUseSingleStatement() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                        .param("status", Status.SUCCESS.name()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertThat(statementCount(result)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void assertSingleStatementWithoutEntities(MvcResult result) {
+        assertThat(statementCount(result)).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private static int statementCount(MvcResult result) {
+        return ((AtomicInteger) result.getRequest()
+                .getAttribute(RequestStatementMetricsFilter.STATEMENT_COUNT_ATTRIBUTE)).get();
+    }
+
+    private Order orderWithLines() {
+        Order order = Order.builder()
+                .userId(USER_ID)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build();
+        ITEM_IDS.forEach(itemId -> order.getOrderItems().add(OrderItem.builder()
+                .order(order)
+                .item(Item.builder().id(itemId).build())
+                .quantity(1)
+                .unitPrice(10.0)
+                .build()));
+        return order;
+    }
+}
@@ -0,0 +1,81 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrderSummaryIT extends BaseIT {
+
+    public static final Long USER_ID = 123L;
+    public static final Long OTHER_USER_ID = 456L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM order_status_daily_counts");
+        jdbcTemplate.update("DELETE FROM order_status_counts");
+    }
+
+    @Test
+    void getStatusSummary_ShouldFollowCreatesAndDeletes() throws Exception {
+        createOrder(USER_ID);
+        long deletedOrderId = createOrder(USER_ID);
+        createOrder(OTHER_USER_ID);
+        mockMvc.perform(delete("/orders/{id}", deletedOrderId))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/orders/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.SUCCESS").value(2))
+                .andExpect(jsonPath("$.counts.PENDING").value(0))
+                .andExpect(jsonPath("$.counts.FAILED").value(0))
+                .andExpect(jsonPath("$.total").value(2));
+
+        mockMvc.perform(get("/orders/summary")
+                        .param("userId", USER_ID.toString())
+                        .param("day", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(USER_ID))
+                .andExpect(jsonPath("$.counts.SUCCESS").value(1))
+                .andExpect(jsonPath("$.total").value(1));
+
+        mockMvc.perform(get("/orders/summary")
+                        .param("day", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0));
+    }
+
+    private long createOrder(Long userId) throws Exception {
+        OrderRequestDto orderRequestDto = OrderRequestDto.builder()
+                .userId(userId)
+                .orderItems(List.of(new OrderItemRequestDto(1L, 1)))
+                .build();
+        String response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
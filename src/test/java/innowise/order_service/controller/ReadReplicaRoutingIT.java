@@ -0,0 +1,151 @@
+package innowise.order_service.controller;
+
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.datasource.ReplicaRoutingDataSource;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+import innowise.order_service.repository.OrderRepository;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against a primary and a replica. The replica is an independent database
+ * with the same schema, so each test can tell from the data which server answered a read.
+ */
+class ReadReplicaRoutingIT extends BaseIT {
+
+    public static final PostgreSQLContainer<?> REPLICA_CONTAINER =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("replicadb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    public static final Long REPLICA_ONLY_ORDER_ID = 1_000_000L;
+
+    static {
+        REPLICA_CONTAINER.start();
+        migrate(REPLICA_CONTAINER);
+    }
+
+    @DynamicPropertySource
+    static void routingProperties(DynamicPropertyRegistry registry) {
+        registry.add("datasource-routing.enabled", () -> "true");
+        registry.add("datasource-routing.replicas[0].url", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("datasource-routing.replicas[0].username", REPLICA_CONTAINER::getUsername);
+        registry.add("datasource-routing.replicas[0].password", REPLICA_CONTAINER::getPassword);
+        registry.add("datasource-routing.health-check-interval", () -> "1h");
+        registry.add("datasource-routing.read-your-writes-window", () -> "1m");
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @MockBean
+    private UserServiceClient userService;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(
+            REPLICA_CONTAINER.getJdbcUrl(), REPLICA_CONTAINER.getUsername(), REPLICA_CONTAINER.getPassword()));
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        replica.update("DELETE FROM orders");
+        replica.update("INSERT INTO orders (id, user_id, status, creation_date, updated_at) VALUES (?, ?, ?, ?, ?)",
+                REPLICA_ONLY_ORDER_ID, 1L, Status.SUCCESS.name(), LocalDateTime.now(), LocalDateTime.now());
+        replicaRoutingDataSource.checkReplicas();
+    }
+
+    @Test
+    void reads_ShouldBeServedByReplica() throws Exception {
+        assertThat(replicaRoutingDataSource.getHealthyReplicas()).containsExactly("replica-1");
+
+        mockMvc.perform(get("/orders/{id}", REPLICA_ONLY_ORDER_ID))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void readsOfJustWrittenOrder_ShouldGoToPrimary() throws Exception {
+        OrderRequestDto orderRequestDto = OrderRequestDto.builder()
+                .userId(1L)
+                .orderItems(List.of(new OrderItemRequestDto(1L, 1)))
+                .build();
+        String response = mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long orderId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void readsOfOrdersWrittenElsewhere_ShouldNotSeeThemUntilReplicated() throws Exception {
+        Long orderId = orderRepository.save(order()).getId();
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unavailableReplica_ShouldFallBackToPrimary() throws Exception {
+        Long orderId = orderRepository.save(order()).getId();
+
+        REPLICA_CONTAINER.getDockerClient().pauseContainerCmd(REPLICA_CONTAINER.getContainerId()).exec();
+        try {
+            replicaRoutingDataSource.checkReplicas();
+            assertThat(replicaRoutingDataSource.getHealthyReplicas()).isEmpty();
+
+            mockMvc.perform(get("/orders/{id}", orderId))
+                    .andExpect(status().isOk());
+        } finally {
+            REPLICA_CONTAINER.getDockerClient().unpauseContainerCmd(REPLICA_CONTAINER.getContainerId()).exec();
+        }
+    }
+
+    private static Order order() {
+        return Order.builder()
+                .userId(1L)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build();
+    }
+
+    private static void migrate(PostgreSQLContainer<?> container) {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new DriverManagerDataSource(
+                container.getJdbcUrl(), container.getUsername(), container.getPassword()));
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to migrate the replica database", e);
+        }
+    }
+}
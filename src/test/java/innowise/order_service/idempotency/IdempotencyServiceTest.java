@@ -0,0 +1,146 @@
+package innowise.order_service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import innowise.order_service.exception.IdempotencyKeyInUseException;
+import innowise.order_service.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyProperties properties;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    public static final String KEY = "key-1";
+    public static final String STORE_KEY = "order-service:idempotency:orders:key-1";
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setWaitTimeout(Duration.ofMillis(100));
+        properties.setPollInterval(Duration.ofMillis(10));
+        idempotencyService = new IdempotencyService(idempotencyStore, properties, objectMapper);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void testExecuteRecordsSuccessfulResponse() {
+        when(idempotencyStore.tryClaim(anyString(), any())).thenReturn(true);
+
+        ResponseEntity<Map> response = execute(Map.of("item", 1));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, executions.get());
+        verify(idempotencyStore).complete(anyString(), argThat(record -> record.completed()
+                && record.status() == 201
+                && record.body().get("id").asInt() == 1));
+    }
+
+    @Test
+    void testExecuteReplaysCompletedResponse() {
+        IdempotencyRecord completed = completedRecord(Map.of("item", 1));
+        when(idempotencyStore.tryClaim(anyString(), any())).thenReturn(false);
+        when(idempotencyStore.get(STORE_KEY)).thenReturn(Optional.of(completed));
+
+        ResponseEntity<Map> response = execute(Map.of("item", 1));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, response.getBody().get("id"));
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecuteRejectsKeyReusedWithDifferentPayload() {
+        IdempotencyRecord completed = completedRecord(Map.of("item", 2));
+        when(idempotencyStore.tryClaim(anyString(), any())).thenReturn(false);
+        when(idempotencyStore.get(STORE_KEY)).thenReturn(Optional.of(completed));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> execute(Map.of("item", 1)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecuteRejectsDuplicateAfterWaitTimeout() {
+        AtomicReference<IdempotencyRecord> inFlight = new AtomicReference<>();
+        when(idempotencyStore.tryClaim(anyString(), any())).thenAnswer(invocation -> {
+            inFlight.set(invocation.getArgument(1));
+            return false;
+        });
+        when(idempotencyStore.get(STORE_KEY)).thenAnswer(invocation -> Optional.of(inFlight.get()));
+
+        assertThrows(IdempotencyKeyInUseException.class, () -> execute(Map.of("item", 1)));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testExecuteReleasesKeyWhenRequestFails() {
+        when(idempotencyStore.tryClaim(anyString(), any())).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("orders", KEY,
+                Map.of("item", 1), Map.class, () -> {
+                    throw new IllegalArgumentException("Items not found");
+                }));
+
+        verify(idempotencyStore).release(anyString(), any());
+        verify(idempotencyStore, never()).complete(anyString(), any());
+    }
+
+    @Test
+    void testExecuteWithoutRedisProcessesRequest() {
+        when(idempotencyStore.tryClaim(anyString(), any()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        ResponseEntity<Map> response = execute(Map.of("item", 1));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    private ResponseEntity<Map> execute(Object request) {
+        return idempotencyService.execute("orders", KEY, request, Map.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", 1));
+        });
+    }
+
+    /**
+     * Runs a request that claims the key and returns the record it completes the key with.
+     */
+    private IdempotencyRecord completedRecord(Object request) {
+        ArgumentCaptor<IdempotencyRecord> completed = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(idempotencyStore.tryClaim(anyString(), any())).thenReturn(true);
+        execute(request);
+        verify(idempotencyStore).complete(anyString(), completed.capture());
+        return completed.getValue();
+    }
+}
@@ -0,0 +1,400 @@
+package innowise.order_service.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import innowise.order_service.controller.BaseIT;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Order;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query the repositories issue against a seeded database and checks its plan with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)}. The statements are recorded at the JDBC level while the repository
+ * method runs, then explained with the same parameters in a transaction that is rolled back.
+ * A query fails the suite when it scans a table of more than {@value #SEQ_SCAN_ROW_LIMIT} rows
+ * sequentially or touches more shared buffers than its budget.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanIT extends BaseIT {
+
+    static final int ORDERS = 100_000;
+    static final int LINES_PER_ORDER = 3;
+    static final int ITEMS = 2_000;
+    static final String SEEDED_ITEM_PREFIX = "Query plan item ";
+
+    static final long SEQ_SCAN_ROW_LIMIT = 1_000;
+
+    /**
+     * Buffer budgets per statement: lookups by key touch a few pages per partition, pages of
+     * orders a few per returned row. A full scan of the seeded orders takes well over a thousand.
+     */
+    static final long LOOKUP_BUFFERS = 200;
+    static final long PAGE_BUFFERS = 600;
+
+    static final QueryRecorder RECORDER = new QueryRecorder();
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+                            ? RECORDER.wrap(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderReadRepository orderReadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Long> orderIds;
+    private List<Long> orderItemIds;
+    private List<Long> itemIds;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("""
+                INSERT INTO items (name, price)
+                SELECT ? || g, 10 + g % 90
+                FROM generate_series(1, ?) g""", SEEDED_ITEM_PREFIX, ITEMS);
+        // Two years of orders: mostly successful, some failed and some legacy pending orders
+        // without requested items, which the acceptance workers never claim.
+        jdbcTemplate.update("""
+                INSERT INTO orders (user_id, status, creation_date, updated_at, total_amount, line_count)
+                SELECT g % 5000 + 1,
+                       CASE WHEN g % 100 < 91 THEN 'SUCCESS' WHEN g % 100 < 98 THEN 'FAILED' ELSE 'PENDING' END,
+                       LOCALTIMESTAMP - (g % 730) * interval '1 day' - (g % 1440) * interval '1 minute',
+                       LOCALTIMESTAMP,
+                       100,
+                       ?
+                FROM generate_series(1, ?) g""", LINES_PER_ORDER, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, order_creation_date, item_id, quantity, unit_price)
+                SELECT o.id, o.creation_date, i.ids[1 + CAST((o.id * ? + n) % cardinality(i.ids) AS integer)], n, 10
+                FROM orders o
+                CROSS JOIN generate_series(1, ?) n
+                CROSS JOIN (SELECT array_agg(id) AS ids FROM items) i""", LINES_PER_ORDER, LINES_PER_ORDER);
+        jdbcTemplate.execute("ANALYZE items, orders, order_items");
+
+        orderIds = jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY id LIMIT 10 OFFSET ?",
+                Long.class, ORDERS / 2);
+        orderItemIds = jdbcTemplate.queryForList("SELECT id FROM order_items ORDER BY id LIMIT 10 OFFSET ?",
+                Long.class, ORDERS);
+        itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id LIMIT 10 OFFSET ?",
+                Long.class, ITEMS / 2);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM items WHERE name LIKE ?", SEEDED_ITEM_PREFIX + "%");
+    }
+
+    Stream<PlanCase> repositoryQueries() {
+        LocalDateTime weekStart = LocalDateTime.now().minusMonths(6);
+        return Stream.of(
+                new PlanCase("OrderRepository.findById", LOOKUP_BUFFERS,
+                        () -> orderRepository.findById(orderIds.get(0))),
+                new PlanCase("OrderRepository.findAllById", LOOKUP_BUFFERS,
+                        () -> orderRepository.findAllById(orderIds)),
+                new PlanCase("OrderRepository.claimPendingOrders", LOOKUP_BUFFERS,
+                        () -> orderRepository.claimPendingOrders(50)),
+                new PlanCase("OrderRepository.claimPendingOrder", LOOKUP_BUFFERS,
+                        () -> orderRepository.claimPendingOrder(orderIds.get(3))),
+                new PlanCase("OrderRepository.streamByStatusAndCreationDate", PAGE_BUFFERS,
+                        () -> {
+                            try (Stream<Order> orders = orderRepository.streamByStatusAndCreationDate(
+                                    Status.FAILED, weekStart, weekStart.plusWeeks(1))) {
+                                assertThat(orders.count()).isPositive();
+                            }
+                        }),
+                new PlanCase("OrderRepository.save", LOOKUP_BUFFERS,
+                        () -> {
+                            Order order = orderRepository.findById(orderIds.get(1)).orElseThrow();
+                            order.setStatus(Status.FAILED);
+                            order.getOrderItems().get(0).setQuantity(5);
+                            orderRepository.save(order);
+                            orderRepository.flush();
+                        }),
+                new PlanCase("OrderRepository.delete", LOOKUP_BUFFERS,
+                        () -> {
+                            orderRepository.delete(orderRepository.findById(orderIds.get(2)).orElseThrow());
+                            orderRepository.flush();
+                        }),
+                new PlanCase("OrderItemRepository.findById", LOOKUP_BUFFERS,
+                        () -> orderItemRepository.findById(orderItemIds.get(0))),
+                new PlanCase("OrderItemRepository.findAllById", LOOKUP_BUFFERS,
+                        () -> orderItemRepository.findAllById(orderItemIds)),
+                new PlanCase("ItemRepository.findById", LOOKUP_BUFFERS,
+                        () -> itemRepository.findById(itemIds.get(0))),
+                new PlanCase("ItemRepository.findAllById", LOOKUP_BUFFERS,
+                        () -> itemRepository.findAllById(itemIds)),
+                new PlanCase("OrderReadRepository.findAllById", LOOKUP_BUFFERS,
+                        () -> orderReadRepository.findAllById(orderIds)),
+                new PlanCase("OrderReadRepository.findVersionsById", LOOKUP_BUFFERS,
+                        () -> orderReadRepository.findVersionsById(orderIds)),
+                new PlanCase("OrderReadRepository.findByStatusAfterId", PAGE_BUFFERS,
+                        () -> orderReadRepository.findByStatusAfterId(Status.FAILED, null, null, 0L, 51)),
+                new PlanCase("OrderReadRepository.findByStatusAfterId within dates", PAGE_BUFFERS,
+                        () -> orderReadRepository.findByStatusAfterId(Status.FAILED,
+                                weekStart, weekStart.plusWeeks(1), 0L, 51)),
+                new PlanCase("OrderReadRepository.findHistoryByUserId", PAGE_BUFFERS,
+                        () -> orderReadRepository.findHistoryByUserId(42L, null, null, null, null, null, 21)),
+                new PlanCase("OrderReadRepository.findHistoryByUserId after position", PAGE_BUFFERS,
+                        () -> orderReadRepository.findHistoryByUserId(42L, null, null, null,
+                                weekStart, Long.MAX_VALUE, 21)),
+                new PlanCase("OrderReadRepository.findHistoryByUserId after position within dates", PAGE_BUFFERS,
+                        () -> orderReadRepository.findHistoryByUserId(42L, Status.SUCCESS, weekStart.minusYears(1),
+                                weekStart.plusWeeks(1), weekStart, Long.MAX_VALUE, 21)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void query_ShouldUseIndexesWithinBufferBudget(PlanCase planCase) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        RECORDER.start();
+        try {
+            transaction.executeWithoutResult(status -> {
+                planCase.query().run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            RECORDER.stop();
+        }
+
+        List<RecordedQuery> queries = RECORDER.explainableQueries();
+        assertThat(queries).as("statements issued by %s", planCase).isNotEmpty();
+        for (RecordedQuery query : queries) {
+            JsonNode plan = explain(query).get(0).get("Plan");
+            assertThat(largeSeqScans(plan))
+                    .as("sequential scans of %s in plan%n%s", query.sql(), plan.toPrettyString())
+                    .isEmpty();
+            assertThat(sharedBuffers(plan))
+                    .as("shared buffers of %s in plan%n%s", query.sql(), plan.toPrettyString())
+                    .isLessThanOrEqualTo(planCase.maxBuffers());
+        }
+    }
+
+    @Test
+    void findHistoryByUserId_AfterPosition_ShouldBoundIndexScansByPosition() throws Exception {
+        RECORDER.start();
+        try {
+            orderReadRepository.findHistoryByUserId(42L, null, null, null,
+                    LocalDateTime.now().minusMonths(6), Long.MAX_VALUE, 21);
+        } finally {
+            RECORDER.stop();
+        }
+
+        JsonNode plan = explain(RECORDER.explainableQueries().get(0)).get(0).get("Plan");
+        List<String> indexConditions = new ArrayList<>();
+        collectIndexConditions(plan, indexConditions);
+        assertThat(indexConditions)
+                .as("index conditions in plan%n%s", plan.toPrettyString())
+                .isNotEmpty()
+                .allMatch(condition -> condition.contains("ROW(") && condition.contains("user_id"));
+    }
+
+    private static void collectIndexConditions(JsonNode plan, List<String> conditions) {
+        if (plan.has("Index Cond")) {
+            conditions.add(plan.get("Index Cond").asText());
+        }
+        plan.path("Plans").forEach(child -> collectIndexConditions(child, conditions));
+    }
+
+    private JsonNode explain(RecordedQuery query) throws Exception {
+        try (Connection connection = RECORDER.target().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + query.sql())) {
+                for (ParameterCall parameter : query.parameters()) {
+                    parameter.method().invoke(statement, parameter.args());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return objectMapper.readTree(resultSet.getString(1));
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private List<String> largeSeqScans(JsonNode plan) {
+        List<String> scans = new ArrayList<>();
+        collectSeqScans(plan, scans);
+        return scans.stream()
+                .filter(relation -> jdbcTemplate.queryForObject(
+                        "SELECT MAX(reltuples) FROM pg_class WHERE relname = ?", Double.class, relation)
+                        > SEQ_SCAN_ROW_LIMIT)
+                .toList();
+    }
+
+    private static void collectSeqScans(JsonNode plan, List<String> scans) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            scans.add(plan.get("Relation Name").asText());
+        }
+        plan.path("Plans").forEach(child -> collectSeqScans(child, scans));
+    }
+
+    /**
+     * Buffers of the root node, which include the buffers of all its children.
+     */
+    private static long sharedBuffers(JsonNode plan) {
+        return plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+    }
+
+    record PlanCase(String name, long maxBuffers, Runnable query) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    record RecordedQuery(String sql, List<ParameterCall> parameters) {
+    }
+
+    record ParameterCall(Method method, Object[] args) {
+    }
+
+    /**
+     * Wraps the application data source and records every prepared statement executed while
+     * recording is on, together with the calls that bound its parameters.
+     */
+    static final class QueryRecorder {
+
+        private static final Set<String> EXECUTE_METHODS =
+                Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+        private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+        private volatile DataSource target;
+
+        DataSource wrap(DataSource dataSource) {
+            target = dataSource;
+            return proxy(DataSource.class, dataSource, (method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        DataSource target() {
+            return target;
+        }
+
+        void start() {
+            queries.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        /**
+         * Recorded queries and row changes; inserts are left out, as they use no index to find rows.
+         */
+        List<RecordedQuery> explainableQueries() {
+            return queries.stream()
+                    .filter(query -> !query.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("insert"))
+                    .toList();
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return wrap(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, ParameterCall> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class) {
+                    parameters.put((Integer) args[0], new ParameterCall(method, args));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (recording && EXECUTE_METHODS.contains(name) && (args == null || args.length == 0)) {
+                    queries.add(new RecordedQuery(sql, List.copyOf(parameters.values())));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (InvocationHandler) (proxy, method, args) -> handler.handle(method, args));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @FunctionalInterface
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
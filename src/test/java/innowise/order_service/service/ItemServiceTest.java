@@ -1,6 +1,8 @@
 package innowise.order_service.service;
 
+import innowise.order_service.cache.ItemCache;
 import innowise.order_service.entity.Item;
+import innowise.order_service.metrics.OrderMetrics;
 import innowise.order_service.repository.ItemRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +12,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -26,11 +33,19 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemCache itemCache;
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
     @InjectMocks
     private ItemService itemService;
 
     public static final Long ITEM_ID = 1L;
     public static final Long WRONG_ITEM_ID = 999L;
+    public static final Long SECOND_ITEM_ID = 2L;
+    public static final Long SECOND_WRONG_ITEM_ID = 1000L;
 
     private Item item;
 
@@ -53,6 +68,17 @@ class ItemServiceTest {
         assertEquals(ITEM_ID, result.getId());
         assertEquals("Test Item", result.getName());
         verify(itemRepository).findById(ITEM_ID);
+        verify(itemCache).put(item);
+    }
+
+    @Test
+    void testGetItemByIdFromCache() {
+        when(itemCache.get(ITEM_ID)).thenReturn(Optional.of(item));
+
+        Item result = itemService.getItemById(ITEM_ID);
+
+        assertEquals(item, result);
+        verify(itemRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -68,4 +94,56 @@ class ItemServiceTest {
         assertThrows(EntityNotFoundException.class, () -> itemService.getItemById(null));
         verify(itemRepository, never()).findById(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetItemsByIdsCollapsesDuplicates() {
+        Item secondItem = Item.builder()
+                .id(SECOND_ITEM_ID)
+                .name("Second Item")
+                .price(10.0)
+                .build();
+        when(itemRepository.findAllById(List.of(ITEM_ID, SECOND_ITEM_ID))).thenReturn(List.of(item, secondItem));
+
+        Map<Long, Item> result = itemService.getItemsByIds(List.of(ITEM_ID, SECOND_ITEM_ID, ITEM_ID));
+
+        assertEquals(2, result.size());
+        assertEquals(item, result.get(ITEM_ID));
+        assertEquals(secondItem, result.get(SECOND_ITEM_ID));
+        verify(itemRepository).findAllById(List.of(ITEM_ID, SECOND_ITEM_ID));
+    }
+
+    @Test
+    void testGetItemsByIdsReportsAllMissingIds() {
+        when(itemRepository.findAllById(List.of(ITEM_ID, WRONG_ITEM_ID, SECOND_WRONG_ITEM_ID))).thenReturn(List.of(item));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> itemService.getItemsByIds(List.of(ITEM_ID, WRONG_ITEM_ID, SECOND_WRONG_ITEM_ID)));
+
+        assertTrue(exception.getMessage().contains(WRONG_ITEM_ID.toString()));
+        assertTrue(exception.getMessage().contains(SECOND_WRONG_ITEM_ID.toString()));
+    }
+
+    @Test
+    void testGetItemsByIdsWithEmptyList() {
+        assertTrue(itemService.getItemsByIds(List.of()).isEmpty());
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetItemsByIdsLoadsOnlyCacheMisses() {
+        Item secondItem = Item.builder()
+                .id(SECOND_ITEM_ID)
+                .name("Second Item")
+                .price(10.0)
+                .build();
+        when(itemCache.getAll(Set.of(ITEM_ID, SECOND_ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+        when(itemRepository.findAllById(List.of(SECOND_ITEM_ID))).thenReturn(List.of(secondItem));
+
+        Map<Long, Item> result = itemService.getItemsByIds(List.of(ITEM_ID, SECOND_ITEM_ID));
+
+        assertEquals(2, result.size());
+        verify(itemRepository).findAllById(List.of(SECOND_ITEM_ID));
+        verify(itemCache).putAll(List.of(secondItem));
+        verify(orderMetrics).recordItemLookup(1, 1);
+    }
+}
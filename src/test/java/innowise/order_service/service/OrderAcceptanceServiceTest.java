@@ -0,0 +1,151 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.Status;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.OrderStatusCountDelta;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAcceptanceServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private OrderStatusCountRepository orderStatusCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderAcceptanceService orderAcceptanceService;
+    private Item item;
+
+    public static final Long ITEM_ID = 1L;
+    public static final Long WRONG_ITEM_ID = 999L;
+    public static final int BATCH_SIZE = 10;
+
+    @BeforeEach
+    void setUp() {
+        orderAcceptanceService = new OrderAcceptanceService(orderRepository, itemService,
+                orderStatusCountRepository, transactionManager);
+        item = Item.builder()
+                .id(ITEM_ID)
+                .price(10.0)
+                .build();
+    }
+
+    @Test
+    void testProcessPendingOrdersSettlesEveryClaimedOrder() {
+        Order valid = pendingOrder(1L, new OrderItemRequestDto(ITEM_ID, 2));
+        Order invalid = pendingOrder(2L, new OrderItemRequestDto(WRONG_ITEM_ID, 1));
+        when(orderRepository.claimPendingOrders(BATCH_SIZE)).thenReturn(List.of(valid, invalid));
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
+
+        int processed = orderAcceptanceService.processPendingOrders(BATCH_SIZE);
+
+        assertEquals(2, processed);
+        assertEquals(Status.SUCCESS, valid.getStatus());
+        assertEquals(1, valid.getOrderItems().size());
+        assertEquals(item, valid.getOrderItems().get(0).getItem());
+        assertEquals(2, valid.getOrderItems().get(0).getQuantity());
+        assertEquals(10.0, valid.getOrderItems().get(0).getUnitPrice());
+        assertEquals(20.0, valid.getTotalAmount());
+        assertEquals(1, valid.getLineCount());
+        assertNull(valid.getRequestedItems());
+
+        assertEquals(Status.FAILED, invalid.getStatus());
+        assertTrue(invalid.getOrderItems().isEmpty());
+        assertEquals("Items not found: [999]", invalid.getFailureReason());
+        assertNull(invalid.getRequestedItems());
+
+        verify(itemService, times(1)).findItemsByIds(List.of(ITEM_ID, WRONG_ITEM_ID));
+        verify(orderStatusCountRepository).apply(argThat(deltas -> deltas.stream()
+                .mapToLong(OrderStatusCountDelta::delta)
+                .sum() == 0 && deltas.size() == 4));
+    }
+
+    @Test
+    void testProcessPendingOrdersWithoutPendingOrders() {
+        when(orderRepository.claimPendingOrders(BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, orderAcceptanceService.processPendingOrders(BATCH_SIZE));
+        verify(itemService, never()).findItemsByIds(anyList());
+    }
+
+    @Test
+    void testProcessPendingOrdersSettlesOrdersAloneWhenBatchFails() {
+        Order valid = pendingOrder(1L, new OrderItemRequestDto(ITEM_ID, 2));
+        Order broken = pendingOrder(2L, (OrderItemRequestDto) null);
+        when(orderRepository.claimPendingOrders(BATCH_SIZE)).thenReturn(List.of(valid, broken));
+        when(orderRepository.claimPendingOrder(1L)).thenReturn(Optional.of(valid));
+        when(orderRepository.claimPendingOrder(2L)).thenReturn(Optional.of(broken));
+        when(itemService.findItemsByIds(List.of(ITEM_ID))).thenReturn(Map.of(ITEM_ID, item));
+
+        int processed = orderAcceptanceService.processPendingOrders(BATCH_SIZE);
+
+        assertEquals(2, processed);
+        assertEquals(Status.SUCCESS, valid.getStatus());
+        assertEquals(20.0, valid.getTotalAmount());
+        assertEquals(Status.FAILED, broken.getStatus());
+        assertTrue(broken.getFailureReason().startsWith("Settlement failed: "));
+        assertNull(broken.getRequestedItems());
+        verify(orderStatusCountRepository, times(2)).apply(argThat(deltas -> deltas.stream()
+                .mapToLong(OrderStatusCountDelta::delta)
+                .sum() == 0 && deltas.size() == 2));
+    }
+
+    @Test
+    void testProcessPendingOrdersTruncatesFailureReason() {
+        OrderItemRequestDto[] requestedItems = LongStream.rangeClosed(1_000_000, 1_000_100)
+                .mapToObj(itemId -> new OrderItemRequestDto(itemId, 1))
+                .toArray(OrderItemRequestDto[]::new);
+        Order order = pendingOrder(1L, requestedItems);
+        when(orderRepository.claimPendingOrders(BATCH_SIZE)).thenReturn(List.of(order));
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of());
+
+        orderAcceptanceService.processPendingOrders(BATCH_SIZE);
+
+        assertEquals(Status.FAILED, order.getStatus());
+        assertEquals(Order.FAILURE_REASON_LENGTH, order.getFailureReason().length());
+        assertTrue(order.getFailureReason().startsWith("Items not found: [1000000, "));
+    }
+
+    private static Order pendingOrder(Long id, OrderItemRequestDto... requestedItems) {
+        return Order.builder()
+                .id(id)
+                .userId(123L)
+                .status(Status.PENDING)
+                .requestedItems(Arrays.asList(requestedItems))
+                .orderItems(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package innowise.order_service.service;
+
+import innowise.order_service.dto.BulkOrderResponseDto;
+import innowise.order_service.dto.BulkOrderResultDto;
+import innowise.order_service.dto.OrderItemRequestDto;
+import innowise.order_service.dto.OrderRequestDto;
+import innowise.order_service.entity.Item;
+import innowise.order_service.entity.Order;
+import innowise.order_service.repository.OrderJdbcRepository;
+import innowise.order_service.repository.OrderStatusCountRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkServiceTest {
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private OrderStatusCountRepository orderStatusCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private BulkOrderProperties properties;
+    private OrderBulkService orderBulkService;
+    private Item item;
+
+    public static final Long ITEM_ID = 1L;
+    public static final Long WRONG_ITEM_ID = 999L;
+    public static final Long USER_ID = 123L;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BulkOrderProperties();
+        orderBulkService = new OrderBulkService(orderJdbcRepository, itemService, validator, properties,
+                orderStatusCountRepository, transactionManager);
+        item = Item.builder()
+                .id(ITEM_ID)
+                .price(10.0)
+                .build();
+    }
+
+    @Test
+    void testCreateOrdersReportsPerOrderResults() {
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
+        assignIdsOnInsert();
+
+        BulkOrderResponseDto result = orderBulkService.createOrders(List.of(
+                order(ITEM_ID, 1),
+                order(ITEM_ID, -1),
+                order(WRONG_ITEM_ID, 1)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        List<BulkOrderResultDto> results = result.getResults();
+        assertTrue(results.get(0).isCreated());
+        assertNotNull(results.get(0).getOrderId());
+        assertFalse(results.get(1).isCreated());
+        assertTrue(results.get(1).getError().contains("quantity"));
+        assertFalse(results.get(2).isCreated());
+        assertTrue(results.get(2).getError().contains(WRONG_ITEM_ID.toString()));
+    }
+
+    @Test
+    void testCreateOrdersResolvesItemsOnceAndWritesInChunks() {
+        properties.setChunkSize(2);
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
+        assignIdsOnInsert();
+
+        BulkOrderResponseDto result = orderBulkService.createOrders(List.of(
+                order(ITEM_ID, 1), order(ITEM_ID, 2), order(ITEM_ID, 3), order(ITEM_ID, 4), order(ITEM_ID, 5)));
+
+        assertEquals(5, result.getCreated());
+        verify(itemService, times(1)).findItemsByIds(anyList());
+        verify(orderJdbcRepository, times(3)).insertOrders(anyList());
+        verify(orderJdbcRepository, times(3)).insertOrderItems(anyList());
+    }
+
+    @Test
+    void testCreateOrdersRetriesFailedChunkOrderByOrder() {
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
+        AtomicLong sequence = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getOrderItems().get(0).getQuantity() == 2)) {
+                throw new DataIntegrityViolationException("constraint");
+            }
+            orders.forEach(order -> order.setId(sequence.incrementAndGet()));
+            return null;
+        }).when(orderJdbcRepository).insertOrders(anyList());
+
+        BulkOrderResponseDto result = orderBulkService.createOrders(List.of(
+                order(ITEM_ID, 1), order(ITEM_ID, 2), order(ITEM_ID, 3)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        List<BulkOrderResultDto> results = result.getResults();
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("Failed to persist order", results.get(1).getError());
+        assertTrue(results.get(2).isCreated());
+        verify(orderJdbcRepository, times(4)).insertOrders(anyList());
+    }
+
+    @Test
+    void testCreateOrdersMarksOrderFailedOnWriteError() {
+        when(itemService.findItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
+        doThrow(new DataIntegrityViolationException("constraint")).when(orderJdbcRepository).insertOrders(anyList());
+
+        BulkOrderResponseDto result = orderBulkService.createOrders(List.of(order(ITEM_ID, 1), order(ITEM_ID, 2)));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(2, result.getFailed());
+        verify(orderJdbcRepository, times(3)).insertOrders(anyList());
+    }
+
+    @Test
+    void testCreateOrdersWithTooManyOrders() {
+        properties.setMaxOrders(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderBulkService.createOrders(List.of(order(ITEM_ID, 1), order(ITEM_ID, 1))));
+    }
+
+    @Test
+    void testCreateOrdersWithEmptyList() {
+        assertThrows(IllegalArgumentException.class, () -> orderBulkService.createOrders(List.of()));
+    }
+
+    private void assignIdsOnInsert() {
+        AtomicLong sequence = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(sequence.incrementAndGet()));
+            return null;
+        }).when(orderJdbcRepository).insertOrders(anyList());
+    }
+
+    private static OrderRequestDto order(Long itemId, int quantity) {
+        return OrderRequestDto.builder()
+                .userId(USER_ID)
+                .orderItems(List.of(OrderItemRequestDto.builder()
+                        .itemId(itemId)
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package innowise.order_service.service;
+
+import innowise.order_service.partitioning.OrderPartitioningProperties;
+import innowise.order_service.repository.OrderPartition;
+import innowise.order_service.repository.OrderPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionServiceTest {
+
+    public static final LocalDate TODAY = LocalDate.of(2024, 10, 15);
+    public static final OrderPartition HISTORY = new OrderPartition("history", null, month(2024, 1));
+    public static final OrderPartition JANUARY = new OrderPartition("p202401", month(2024, 1), month(2024, 2));
+
+    @Mock
+    private OrderPartitionRepository orderPartitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderPartitioningProperties properties;
+    private OrderPartitionService orderPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderPartitioningProperties();
+        properties.setMonthsAhead(2);
+        orderPartitionService = new OrderPartitionService(orderPartitionRepository, properties, transactionManager);
+    }
+
+    @Test
+    void testMaintainPartitionsCreatesMonthsUpToMonthsAhead() {
+        OrderPartition october = new OrderPartition("p202410", month(2024, 10), month(2024, 11));
+        when(orderPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(orderPartitionRepository.findPartitions()).thenReturn(List.of(HISTORY, october));
+
+        assertTrue(orderPartitionService.maintainPartitions(TODAY));
+
+        verify(orderPartitionRepository).createPartition(
+                new OrderPartition("p202411", month(2024, 11), month(2024, 12)));
+        verify(orderPartitionRepository).createPartition(
+                new OrderPartition("p202412", month(2024, 12), month(2025, 1)));
+        verify(orderPartitionRepository, never()).archivePartition(any(), anyBoolean());
+    }
+
+    @Test
+    void testMaintainPartitionsCreatesNothingWhenMonthsAreCovered() {
+        OrderPartition covering = new OrderPartition("history", null, month(2025, 1));
+        when(orderPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(orderPartitionRepository.findPartitions()).thenReturn(List.of(covering));
+
+        orderPartitionService.maintainPartitions(TODAY);
+
+        verify(orderPartitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    void testMaintainPartitionsArchivesPartitionsOutsideRetention() {
+        properties.setRetention(Period.ofMonths(7));
+        properties.setArchiveMode(OrderPartitioningProperties.ArchiveMode.DROP);
+        OrderPartition february = new OrderPartition("p202402", month(2024, 2), month(2024, 3));
+        OrderPartition future = new OrderPartition("p202403", month(2024, 3), month(2025, 1));
+        when(orderPartitionRepository.tryLockMaintenance()).thenReturn(true);
+        when(orderPartitionRepository.findPartitions()).thenReturn(List.of(HISTORY, JANUARY, february, future));
+
+        orderPartitionService.maintainPartitions(TODAY);
+
+        verify(orderPartitionRepository).archivePartition(HISTORY, true);
+        verify(orderPartitionRepository).archivePartition(JANUARY, true);
+        verify(orderPartitionRepository).archivePartition(february, true);
+        verify(orderPartitionRepository, never()).archivePartition(future, true);
+    }
+
+    @Test
+    void testMaintainPartitionsSkipsWhenAnotherInstanceHoldsTheLock() {
+        when(orderPartitionRepository.tryLockMaintenance()).thenReturn(false);
+
+        assertFalse(orderPartitionService.maintainPartitions(TODAY));
+
+        verify(orderPartitionRepository, never()).findPartitions();
+        verify(orderPartitionRepository, never()).createPartition(any());
+    }
+
+    private static LocalDateTime month(int year, int month) {
+        return LocalDate.of(year, month, 1).atStartOfDay();
+    }
+}
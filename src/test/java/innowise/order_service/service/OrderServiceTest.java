@@ -1,6 +1,9 @@
 package innowise.order_service.service;
 
-import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.datasource.ReadYourWritesTracker;
+import innowise.order_service.dto.OrderHistoryDto;
+import innowise.order_service.dto.OrderHistoryEntryDto;
+import innowise.order_service.dto.OrderItemPatchDto;
 import innowise.order_service.dto.OrderItemRequestDto;
 import innowise.order_service.dto.OrderRequestDto;
 import innowise.order_service.dto.OrderResponseDto;
@@ -11,8 +14,14 @@ import innowise.order_service.entity.Item;
 import innowise.order_service.entity.Order;
 import innowise.order_service.entity.OrderItem;
 import innowise.order_service.mapper.OrderMapperImpl;
+import innowise.order_service.pagination.CursorPage;
+import innowise.order_service.pagination.PageToken;
+import innowise.order_service.pagination.PaginationProperties;
 import innowise.order_service.repository.OrderItemRepository;
+import innowise.order_service.repository.OrderReadRepository;
 import innowise.order_service.repository.OrderRepository;
+import innowise.order_service.repository.OrderStatusCountDelta;
+import innowise.order_service.repository.OrderStatusCountRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,17 +30,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,14 +63,29 @@ class OrderServiceTest {
     private OrderMapperImpl orderMapper = new OrderMapperImpl();
 
     @Mock
-    private UserServiceClient userServiceClient;
+    private UserInfoService userInfoService;
 
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private OrderReadRepository orderReadRepository;
+
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Mock
+    private OrderStatusCountRepository orderStatusCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
     @InjectMocks
     private OrderService orderService;
 
@@ -75,12 +106,14 @@ class OrderServiceTest {
     void setUp() {
         item = Item.builder()
                 .id(ITEM_ID)
+                .price(10.0)
                 .build();
 
         OrderItem orderItem = OrderItem.builder()
                 .id(ITEM_ID)
                 .item(item)
                 .quantity(QUANTITY)
+                .unitPrice(item.getPrice())
                 .build();
 
         OrderItemRequestDto orderItemRequestDto = OrderItemRequestDto.builder()
@@ -92,6 +125,7 @@ class OrderServiceTest {
                 .id(ORDER_ID)
                 .userId(USER_ID)
                 .status(Status.SUCCESS)
+                .creationDate(LocalDateTime.of(2024, 1, 1, 12, 0))
                 .orderItems(new ArrayList<>(List.of(orderItem)))
                 .build();
 
@@ -121,9 +155,9 @@ class OrderServiceTest {
 
     @Test
     void testCreateOrder() {
-        when(itemService.getItemById(anyLong())).thenReturn(item);
+        when(itemService.getItemsByIds(anyList())).thenReturn(Map.of(ITEM_ID, item));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(userServiceClient.getUserById(anyLong())).thenReturn(userDto);
+        when(userInfoService.getUserById(anyLong())).thenReturn(userDto);
 
         OrderResponseDto result = orderService.createOrder(orderRequestDto);
 
@@ -132,74 +166,345 @@ class OrderServiceTest {
         verify(orderMapper).toEntity(orderRequestDto);
         verify(orderRepository).save(any(Order.class));
         verify(orderMapper).toDto(order);
+        verify(readYourWritesTracker).recordWrite(ORDER_ID);
+        verify(orderStatusCountRepository).apply(List.of(new OrderStatusCountDelta(
+                USER_ID, LocalDate.of(2024, 1, 1), Status.SUCCESS, 1)));
     }
 
     @Test
-    void testGetOrderById() {
+    void testAcceptOrderStoresPendingOrderWithoutResolvingItems() {
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order saved = invocation.getArgument(0);
+            saved.setId(ORDER_ID);
+            return saved;
+        });
+
+        OrderResponseDto result = orderService.acceptOrder(orderRequestDto);
+
+        assertEquals(ORDER_ID, result.getId());
+        assertEquals(Status.PENDING, result.getStatus());
+        assertEquals(1, result.getOrderItems().size());
+        assertEquals(ITEM_ID, result.getOrderItems().get(0).getItemId());
+        assertNull(result.getOrderItems().get(0).getUnitPrice());
+        verify(orderRepository).save(argThat(saved -> saved.getStatus() == Status.PENDING
+                && saved.getOrderItems().isEmpty()
+                && orderRequestDto.getOrderItems().equals(saved.getRequestedItems())));
+        verify(itemService, never()).getItemsByIds(anyList());
+        verify(userInfoService, never()).getUserById(anyLong());
+        verify(readYourWritesTracker).recordWrite(ORDER_ID);
+    }
+
+    @Test
+    void testUpdateOrderByIdOfFailedOrderMovesStatusCounters() {
+        order.setStatus(Status.FAILED);
         when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
-        when(userServiceClient.getUserById(anyLong())).thenReturn(userDto);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderById(updateOrderDto, ORDER_ID);
+
+        assertEquals(Status.SUCCESS, order.getStatus());
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        verify(orderStatusCountRepository).apply(List.of(
+                new OrderStatusCountDelta(USER_ID, day, Status.FAILED, -1),
+                new OrderStatusCountDelta(USER_ID, day, Status.SUCCESS, 1)));
+    }
+
+    @Test
+    void testUpdateOrderByIdRejectsEmptyLines() {
+        updateOrderDto.setOrderItems(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderById(updateOrderDto, ORDER_ID));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testUpdateOrderByIdRejectsOrderAwaitingAcceptance() {
+        order.setStatus(Status.PENDING);
+        order.setRequestedItems(orderRequestDto.getOrderItems());
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateOrderById(updateOrderDto, ORDER_ID));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testGetOrderById() {
+        when(orderReadRepository.findById(ORDER_ID)).thenReturn(Optional.of(orderResponseDto));
+        when(userInfoService.getUserById(anyLong())).thenReturn(userDto);
 
         OrderResponseDto result = orderService.getOrderById(ORDER_ID);
 
         assertNotNull(result);
         assertEquals(ORDER_ID, result.getId());
-        verify(orderRepository).findById(ORDER_ID);
-        verify(orderMapper).toDto(order);
+        assertEquals(userDto, result.getUser());
+        verify(orderReadRepository).findById(ORDER_ID);
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetOrderByIdReadsRecentlyWrittenOrderFromPrimary() {
+        when(readYourWritesTracker.isRecentlyWritten(List.of(ORDER_ID))).thenReturn(true);
+        when(orderReadRepository.findById(ORDER_ID)).thenReturn(Optional.of(orderResponseDto));
+
+        orderService.getOrderById(ORDER_ID);
+
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
     }
 
     @Test
     void testGetOrderByIdWithWrongId() {
-        when(orderRepository.findById(WRONG_ORDER_ID)).thenReturn(Optional.empty());
+        when(orderReadRepository.findById(WRONG_ORDER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> orderService.getOrderById(WRONG_ORDER_ID));
-        verify(orderRepository).findById(WRONG_ORDER_ID);
+        verify(orderReadRepository).findById(WRONG_ORDER_ID);
     }
 
     @Test
     void testGetOrdersByIds() {
         List<Long> orderIds = List.of(1L, 2L);
-        Order order2 = new Order();
-        order2.setId(2L);
-
         OrderResponseDto orderResponseDto2 = new OrderResponseDto();
         orderResponseDto2.setId(2L);
 
-        when(orderRepository.findAllById(orderIds)).thenReturn(List.of(order, order2));
-        when(userServiceClient.getUserById(anyLong())).thenReturn(userDto);
+        when(orderReadRepository.findAllById(orderIds)).thenReturn(List.of(orderResponseDto, orderResponseDto2));
+        when(userInfoService.getUsersByIds(anyList())).thenReturn(Map.of(USER_ID, userDto));
 
         List<OrderResponseDto> result = orderService.getOrdersByIds(orderIds);
 
         assertEquals(2, result.size());
-        verify(orderRepository).findAllById(orderIds);
-        verify(orderMapper, times(2)).toDto(any(Order.class));
+        assertEquals(userDto, result.get(0).getUser());
+        verify(orderReadRepository).findAllById(orderIds);
+        verify(orderMapper, never()).toDto(any(Order.class));
     }
 
     @Test
     void testGetOrdersByStatus() {
-        when(orderRepository.findByStatus(Status.SUCCESS)).thenReturn(List.of(order));
-        when(userServiceClient.getUserById(anyLong())).thenReturn(userDto);
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, null, null, 0L, 51))
+                .thenReturn(List.of(orderResponseDto));
+        when(userInfoService.getUsersByIds(anyList())).thenReturn(Map.of(USER_ID, userDto));
 
-        List<OrderResponseDto> result = orderService.getOrdersByStatus(Status.SUCCESS);
+        CursorPage<OrderResponseDto> result =
+                orderService.getOrdersByStatus(Status.SUCCESS, null, null, null, null);
 
-        assertEquals(1, result.size());
-        verify(orderRepository).findByStatus(Status.SUCCESS);
-        verify(orderMapper).toDto(order);
+        assertEquals(1, result.items().size());
+        assertNull(result.nextPageToken());
+        verify(orderReadRepository).findByStatusAfterId(Status.SUCCESS, null, null, 0L, 51);
+    }
+
+    @Test
+    void testGetOrdersByStatusReturnsNextPageToken() {
+        OrderResponseDto secondOrder = orderResponse(2L);
+        OrderResponseDto thirdOrder = orderResponse(3L);
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, null, null, 0L, 3))
+                .thenReturn(List.of(orderResponseDto, secondOrder, thirdOrder));
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, null, null, 2L, 3))
+                .thenReturn(List.of(thirdOrder));
+
+        CursorPage<OrderResponseDto> firstPage =
+                orderService.getOrdersByStatus(Status.SUCCESS, null, null, null, 2);
+        CursorPage<OrderResponseDto> secondPage =
+                orderService.getOrdersByStatus(Status.SUCCESS, null, null, firstPage.nextPageToken(), 2);
+
+        assertEquals(List.of(ORDER_ID, 2L), firstPage.items().stream().map(OrderResponseDto::getId).toList());
+        assertNotNull(firstPage.nextPageToken());
+        assertEquals(List.of(3L), secondPage.items().stream().map(OrderResponseDto::getId).toList());
+        assertNull(secondPage.nextPageToken());
+    }
+
+    @Test
+    void testGetOrdersByStatusCapsPageSize() {
+        paginationProperties.setMaxPageSize(10);
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, null, null, 0L, 11))
+                .thenReturn(List.of(orderResponseDto));
+
+        orderService.getOrdersByStatus(Status.SUCCESS, null, null, null, 1_000_000);
+
+        verify(orderReadRepository).findByStatusAfterId(Status.SUCCESS, null, null, 0L, 11);
+    }
+
+    @Test
+    void testGetOrdersByStatusWithTokenForAnotherStatus() {
+        String pendingToken = PageToken.encode("status:" + Status.PENDING, ORDER_ID);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByStatus(Status.SUCCESS, null, null, pendingToken, null));
+    }
+
+    @Test
+    void testGetOrdersByStatusWithinCreationDateRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, from, to, 0L, 2))
+                .thenReturn(List.of(orderResponseDto, orderResponse(2L)));
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, from, to, 1L, 2))
+                .thenReturn(List.of(orderResponse(2L)));
+
+        CursorPage<OrderResponseDto> firstPage = orderService.getOrdersByStatus(Status.SUCCESS, from, to, null, 1);
+        orderService.getOrdersByStatus(Status.SUCCESS, from, to, firstPage.nextPageToken(), 1);
+
+        verify(orderReadRepository).findByStatusAfterId(Status.SUCCESS, from, to, 1L, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByStatus(Status.SUCCESS, null, null, firstPage.nextPageToken(), 1));
+    }
+
+    @Test
+    void testGetOrdersByStatusWithInvertedCreationDateRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByStatus(Status.SUCCESS, from, from.minusDays(1), null, null));
+    }
+
+    @Test
+    void testGetOrderHistoryLooksUpUserOncePerPage() {
+        LocalDateTime newest = LocalDateTime.of(2024, 3, 1, 12, 0);
+        OrderHistoryEntryDto first = historyEntry(3L, newest);
+        OrderHistoryEntryDto second = historyEntry(2L, newest.minusDays(1));
+        OrderHistoryEntryDto third = historyEntry(1L, newest.minusDays(2));
+        when(orderReadRepository.findHistoryByUserId(USER_ID, null, null, null, null, null, 3))
+                .thenReturn(List.of(first, second, third));
+        when(orderReadRepository.findHistoryByUserId(USER_ID, null, null, null, second.getCreationDate(), 2L, 3))
+                .thenReturn(List.of(third));
+        when(userInfoService.getUserById(USER_ID)).thenReturn(userDto);
+
+        OrderHistoryDto firstPage = orderService.getOrderHistory(USER_ID, null, null, null, null, 2);
+        OrderHistoryDto secondPage =
+                orderService.getOrderHistory(USER_ID, null, null, null, firstPage.getNextPageToken(), 2);
+
+        assertEquals(List.of(3L, 2L), firstPage.getOrders().stream().map(OrderHistoryEntryDto::getId).toList());
+        assertEquals(userDto, firstPage.getUser());
+        assertNotNull(firstPage.getNextPageToken());
+        assertEquals(List.of(1L), secondPage.getOrders().stream().map(OrderHistoryEntryDto::getId).toList());
+        assertNull(secondPage.getNextPageToken());
+        verify(userInfoService, times(2)).getUserById(USER_ID);
+        verify(userInfoService, never()).getUsersByIds(anyList());
+    }
+
+    @Test
+    void testGetOrderHistoryWithoutOrdersSkipsUserLookup() {
+        when(orderReadRepository.findHistoryByUserId(USER_ID, Status.FAILED, null, null, null, null, 51))
+                .thenReturn(List.of());
+
+        OrderHistoryDto result = orderService.getOrderHistory(USER_ID, Status.FAILED, null, null, null, null);
+
+        assertEquals(List.of(), result.getOrders());
+        assertNull(result.getUser());
+        verify(userInfoService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void testGetOrderHistoryWithTokenForAnotherFilter() {
+        String failedToken = PageToken.encode("user:" + USER_ID + ":" + Status.FAILED + ":null:null",
+                LocalDateTime.of(2024, 1, 1, 0, 0), ORDER_ID);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrderHistory(USER_ID, Status.SUCCESS, null, null, failedToken, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrderHistory(USER_ID + 1, Status.FAILED, null, null, failedToken, null));
+    }
+
+    @Test
+    void testGetOrderHistoryWithInvertedCreationDateRange() {
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrderHistory(USER_ID, null, from, from, null, null));
     }
 
     @Test
     void testUpdateOrderById() {
+        Item newItem = Item.builder()
+                .id(2L)
+                .price(20.0)
+                .build();
+        updateOrderDto.setOrderItems(List.of(
+                new OrderItemRequestDto(ITEM_ID, 5),
+                new OrderItemRequestDto(2L, 1)));
+        OrderItem existingOrderItem = order.getOrderItems().get(0);
+        item.setPrice(99.0);
         when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
-        when(itemService.getItemById(anyLong())).thenReturn(item);
+        when(itemService.getItemsByIds(List.of(2L))).thenReturn(Map.of(2L, newItem));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(userServiceClient.getUserById(anyLong())).thenReturn(userDto);
+        when(userInfoService.getUserById(anyLong())).thenReturn(userDto);
 
         OrderResponseDto result = orderService.updateOrderById(updateOrderDto, ORDER_ID);
 
         assertNotNull(result);
+        assertEquals(2, order.getOrderItems().size());
+        assertSame(existingOrderItem, order.getOrderItems().get(0));
+        assertEquals(5, existingOrderItem.getQuantity());
+        assertSame(newItem, order.getOrderItems().get(1).getItem());
+        assertEquals(10.0, existingOrderItem.getUnitPrice());
+        assertEquals(20.0, order.getOrderItems().get(1).getUnitPrice());
+        assertEquals(70.0, order.getTotalAmount());
+        assertEquals(2, order.getLineCount());
         verify(orderRepository).save(order);
         verify(orderMapper).toDto(order);
     }
 
+    @Test
+    void testUpdateOrderByIdRemovesMissingLines() {
+        Item newItem = Item.builder()
+                .id(2L)
+                .price(20.0)
+                .build();
+        updateOrderDto.setOrderItems(List.of(new OrderItemRequestDto(2L, 1)));
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(itemService.getItemsByIds(List.of(2L))).thenReturn(Map.of(2L, newItem));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderById(updateOrderDto, ORDER_ID);
+
+        assertEquals(1, order.getOrderItems().size());
+        assertSame(newItem, order.getOrderItems().get(0).getItem());
+    }
+
+    @Test
+    void testUpdateOrderByIdWithoutChangesDoesNotLoadItems() {
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderById(updateOrderDto, ORDER_ID);
+
+        assertEquals(1, order.getOrderItems().size());
+        verify(itemService, never()).getItemsByIds(anyList());
+    }
+
+    @Test
+    void testUpdateOrderItemChangesQuantity() {
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderItem(ORDER_ID, ITEM_ID, new OrderItemPatchDto(9));
+
+        assertEquals(9, order.getOrderItems().get(0).getQuantity());
+        verify(itemService, never()).getItemById(anyLong());
+    }
+
+    @Test
+    void testUpdateOrderItemAddsLine() {
+        Item newItem = Item.builder()
+                .id(2L)
+                .price(20.0)
+                .build();
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(itemService.getItemById(2L)).thenReturn(newItem);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+        orderService.updateOrderItem(ORDER_ID, 2L, new OrderItemPatchDto(1));
+
+        assertEquals(2, order.getOrderItems().size());
+        assertSame(newItem, order.getOrderItems().get(1).getItem());
+    }
+
+    @Test
+    void testUpdateOrderItemCannotRemoveLastLine() {
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderItem(ORDER_ID, ITEM_ID, new OrderItemPatchDto(0)));
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void testUpdateOrderByIdWithWrongId() {
         when(orderRepository.findById(WRONG_ORDER_ID)).thenReturn(Optional.empty());
@@ -211,36 +516,72 @@ class OrderServiceTest {
 
     @Test
     void testDeleteOrderById() {
-        when(orderRepository.existsById(ORDER_ID)).thenReturn(true);
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(order));
 
         orderService.deleteOrderById(ORDER_ID);
 
-        verify(orderRepository).deleteById(ORDER_ID);
+        verify(orderRepository).delete(order);
+        verify(orderStatusCountRepository).apply(List.of(new OrderStatusCountDelta(
+                USER_ID, LocalDate.of(2024, 1, 1), Status.SUCCESS, -1)));
     }
 
     @Test
     void testDeleteOrderByIdWithWrongId() {
-        when(orderRepository.existsById(WRONG_ORDER_ID)).thenReturn(false);
+        when(orderRepository.findById(WRONG_ORDER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> orderService.deleteOrderById(WRONG_ORDER_ID));
-        verify(orderRepository, never()).deleteById(WRONG_ORDER_ID);
+        verify(orderRepository, never()).delete(any(Order.class));
     }
 
     @Test
     void testDeleteOrderByIdWithNullId() {
         assertThrows(RuntimeException.class,
                 () -> orderService.deleteOrderById(null));
-        verify(orderRepository, never()).deleteById(any());
+        verify(orderRepository, never()).delete(any(Order.class));
     }
 
     @Test
     void testAddUserInfoToOrderResponseWithFail() {
-        when(userServiceClient.getUserById(anyLong())).thenThrow(new RuntimeException("Service unavailable"));
+        when(userInfoService.getUserById(anyLong())).thenThrow(new RuntimeException("Service unavailable"));
 
         OrderResponseDto result = orderService.addUserInfoToOrderResponse(orderResponseDto);
 
         assertNotNull(result);
         assertEquals(orderResponseDto.getId(), result.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetOrdersByStatusFetchesEachUserOnce() {
+        when(orderReadRepository.findByStatusAfterId(Status.SUCCESS, null, null, 0L, 51))
+                .thenReturn(List.of(orderResponseDto, orderResponse(2L)));
+        when(userInfoService.getUsersByIds(anyList())).thenReturn(Map.of(USER_ID, userDto));
+
+        List<OrderResponseDto> result =
+                orderService.getOrdersByStatus(Status.SUCCESS, null, null, null, null).items();
+
+        assertEquals(2, result.size());
+        result.forEach(response -> assertEquals(userDto, response.getUser()));
+        verify(userInfoService).getUsersByIds(anyList());
+        verify(userInfoService, never()).getUserById(anyLong());
+    }
+
+    private static OrderHistoryEntryDto historyEntry(Long id, LocalDateTime creationDate) {
+        return OrderHistoryEntryDto.builder()
+                .id(id)
+                .status(Status.SUCCESS)
+                .totalAmount(20.0)
+                .lineCount(1)
+                .creationDate(creationDate)
+                .build();
+    }
+
+    private static OrderResponseDto orderResponse(Long id) {
+        return OrderResponseDto.builder()
+                .id(id)
+                .userId(USER_ID)
+                .status(Status.SUCCESS)
+                .orderItems(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package innowise.order_service.service;
+
+import feign.FeignException;
+import feign.Request;
+import innowise.order_service.client.UserLookupProperties;
+import innowise.order_service.client.UserServiceClient;
+import innowise.order_service.dto.client.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserInfoServiceTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private UserInfoService userInfoService;
+
+    public static final Long USER_ID = 123L;
+    public static final Long SECOND_USER_ID = 456L;
+
+    private UserDto userDto;
+    private UserDto secondUserDto;
+
+    @BeforeEach
+    void setUp() {
+        userInfoService = new UserInfoService(userServiceClient, new UserLookupProperties(), Runnable::run,
+                new Semaphore(8));
+
+        userDto = UserDto.builder()
+                .id(USER_ID)
+                .name("John")
+                .build();
+
+        secondUserDto = UserDto.builder()
+                .id(SECOND_USER_ID)
+                .name("Jane")
+                .build();
+    }
+
+    @Test
+    void testGetUsersByIdsCallsBatchEndpointWithDistinctIds() {
+        when(userServiceClient.getUsersByIds(List.of(USER_ID, SECOND_USER_ID)))
+                .thenReturn(List.of(userDto, secondUserDto));
+
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID, USER_ID));
+
+        assertEquals(Map.of(USER_ID, userDto, SECOND_USER_ID, secondUserDto), result);
+        verify(userServiceClient, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void testGetUsersByIdsFallsBackToSingleLookups() {
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(notFound());
+        when(userServiceClient.getUserById(USER_ID)).thenReturn(userDto);
+        when(userServiceClient.getUserById(SECOND_USER_ID)).thenReturn(secondUserDto);
+
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID, USER_ID));
+
+        assertEquals(Map.of(USER_ID, userDto, SECOND_USER_ID, secondUserDto), result);
+        verify(userServiceClient, times(1)).getUserById(USER_ID);
+        verify(userServiceClient, times(1)).getUserById(SECOND_USER_ID);
+    }
+
+    @Test
+    void testGetUsersByIdsSkipsBatchEndpointAfterNotFound() {
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(notFound());
+        when(userServiceClient.getUserById(USER_ID)).thenReturn(userDto);
+
+        userInfoService.getUsersByIds(List.of(USER_ID));
+        userInfoService.getUsersByIds(List.of(USER_ID));
+
+        verify(userServiceClient, times(1)).getUsersByIds(anyList());
+        verify(userServiceClient, times(2)).getUserById(USER_ID);
+    }
+
+    @Test
+    void testGetUsersByIdsLeavesUsersUnresolvedWhenBatchFails() {
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(new RuntimeException("Service unavailable"));
+
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID));
+
+        assertTrue(result.isEmpty());
+        verify(userServiceClient, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void testGetUsersByIdsOmitsFailedLookups() {
+        when(userServiceClient.getUsersByIds(anyList())).thenThrow(notFound());
+        when(userServiceClient.getUserById(USER_ID)).thenReturn(userDto);
+        when(userServiceClient.getUserById(SECOND_USER_ID)).thenThrow(new RuntimeException("Service unavailable"));
+
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID));
+
+        assertEquals(Map.of(USER_ID, userDto), result);
+    }
+
+    @Test
+    void testGetUsersByIdsStopsWaitingAtDeadline() {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.setDeadline(Duration.ofMillis(50));
+        Executor stalledExecutor = task -> {
+        };
+        userInfoService = new UserInfoService(userServiceClient, properties, stalledExecutor, new Semaphore(8));
+
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetUsersByIdsDoesNotWaitForPermitPastDeadline() {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.setDeadline(Duration.ofMillis(50));
+        userInfoService = new UserInfoService(userServiceClient, properties, Runnable::run, new Semaphore(0));
+
+        long started = System.nanoTime();
+        Map<Long, UserDto> result = userInfoService.getUsersByIds(List.of(USER_ID, SECOND_USER_ID));
+
+        assertTrue(result.isEmpty());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        verify(userServiceClient, never()).getUsersByIds(anyList());
+    }
+
+    @Test
+    void testGetUsersByIdsReturnsPermitsOfCancelledLookups() {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.setDeadline(Duration.ofMillis(50));
+        Semaphore permits = new Semaphore(1);
+        Executor stalledExecutor = task -> {
+        };
+        userInfoService = new UserInfoService(userServiceClient, properties, stalledExecutor, permits);
+
+        userInfoService.getUsersByIds(List.of(USER_ID));
+
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    void testGetUsersByIdsWithEmptyList() {
+        assertTrue(userInfoService.getUsersByIds(List.of()).isEmpty());
+        verify(userServiceClient, never()).getUsersByIds(anyList());
+    }
+
+    private static FeignException notFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/users", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+}